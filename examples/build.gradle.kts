@@ -49,6 +49,7 @@ tasks {
         "ZQueryable",
         "ZScout",
         "ZSub",
+        "ZSubAlloc",
         "ZSubLiveliness",
         "ZSubThr"
     )
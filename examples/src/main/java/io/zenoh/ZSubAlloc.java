@@ -0,0 +1,169 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+package io.zenoh;
+
+import io.zenoh.exceptions.ZError;
+import io.zenoh.keyexpr.KeyExpr;
+import io.zenoh.pubsub.Subscriber;
+import io.zenoh.sample.Sample;
+import picocli.CommandLine;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static io.zenoh.ConfigKt.loadConfig;
+
+/**
+ * Example of a callback subscriber printing the bytes its callback thread allocates per
+ * received message, read through HotSpot's per-thread allocation counters. It illustrates
+ * how to observe a callback's allocations and is not a benchmark.
+ */
+@CommandLine.Command(
+        name = "ZSubAlloc",
+        mixinStandardHelpOptions = true,
+        description = "Zenoh Subscriber allocation example"
+)
+public class ZSubAlloc implements Callable<Integer> {
+
+    @Override
+    public Integer call() throws Exception {
+        Zenoh.initLogFromEnvOr("error");
+
+        Config config = loadConfig(emptyArgs, configFile, connect, listen, noMulticastScouting, mode);
+
+        System.out.println("Opening Session");
+        try (Session session = Zenoh.open(config)) {
+            try (KeyExpr keyExpr = KeyExpr.tryFrom("test/thr")) {
+                subscriber = session.declareSubscriber(keyExpr, this::listener);
+                System.out.println("Press CTRL-C to quit...");
+
+                while (subscriber.isValid()) {
+                    Thread.sleep(1000);
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void listener(Sample sample) {
+        // Touch what a typical callback reads — payload, key expression and
+        // encoding — so every lazily delivered part is materialized and its
+        // allocations are accounted for.
+        dataSink += sample.getPayload().size()
+                + sample.getKeyExpr().toString().length()
+                + sample.getEncoding().hashCode();
+        if (batchCount >= samples) {
+            closeSubscriber();
+            return;
+        }
+
+        if (count == 0) {
+            startAllocatedBytes = THREADS.getCurrentThreadAllocatedBytes();
+        }
+        if (++count < number) {
+            return;
+        }
+
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+        System.out.printf("%.1f bytes allocated per message (callback thread)%n", (double) allocated / number);
+        batchCount++;
+        count = 0;
+    }
+
+    private void closeSubscriber() {
+        if (subscriber != null && subscriber.isValid()) {
+            try {
+                subscriber.close();
+            } catch (Exception e) {
+                System.err.println("Error closing subscriber: " + e.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * ----- Example arguments and private fields -----
+     */
+
+    private final Boolean emptyArgs;
+
+    ZSubAlloc(Boolean emptyArgs) {
+        this.emptyArgs = emptyArgs;
+    }
+
+    // Per-thread allocation counters are a HotSpot extension of the standard ThreadMXBean.
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private long batchCount = 0;
+    private long count = 0;
+    private long dataSink = 0;
+    private long startAllocatedBytes = 0;
+
+    @CommandLine.Option(
+            names = {"-s", "--samples"},
+            description = "Number of allocation measurements [default: 10].",
+            defaultValue = "10"
+    )
+    private long samples;
+
+    @CommandLine.Option(
+            names = {"-n", "--number"},
+            description = "Number of messages in each allocation measurement [default: 100000].",
+            defaultValue = "100000"
+    )
+    private long number;
+
+    @CommandLine.Option(
+            names = {"-c", "--config"},
+            description = "A configuration file."
+    )
+    private String configFile;
+
+    @CommandLine.Option(
+            names = {"-e", "--connect"},
+            description = "Endpoints to connect to.",
+            split = ","
+    )
+    private List<String> connect;
+
+    @CommandLine.Option(
+            names = {"-l", "--listen"},
+            description = "Endpoints to listen on.",
+            split = ","
+    )
+    private List<String> listen;
+
+    @CommandLine.Option(
+            names = {"-m", "--mode"},
+            description = "The session mode. Default: peer. Possible values: [peer, client, router].",
+            defaultValue = "peer"
+    )
+    private String mode;
+
+    @CommandLine.Option(
+            names = {"--no-multicast-scouting"},
+            description = "Disable the multicast-based scouting mechanism.",
+            defaultValue = "false"
+    )
+    private boolean noMulticastScouting;
+
+    private Subscriber subscriber;
+
+    public static void main(String[] args) {
+        int exitCode = new CommandLine(new ZSubAlloc(args.length == 0)).execute(args);
+        System.exit(exitCode);
+    }
+}
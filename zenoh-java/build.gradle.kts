@@ -69,6 +69,9 @@ kotlin {
                 // and a rehearsal can point at a snapshot.
                 implementation("org.eclipse.zenoh:zenoh-flat-jni:$zenohFlatJniVersion")
                 implementation("com.google.guava:guava:33.3.1-jre")
+                // Channel and Flow adapters (see io.zenoh.handlers.ChannelHandler): optional,
+                // so not exposed to consumers. Those using the adapters add it themselves.
+                compileOnly("org.jetbrains.kotlinx:kotlinx-coroutines-core:1.7.3")
             }
         }
         val commonTest by getting {
@@ -78,6 +81,8 @@ kotlin {
                 // carries the raw bits and an originating-node id, so it no
                 // longer depends on commons-net itself.
                 implementation("commons-net:commons-net:3.9.0")
+                // The Channel and Flow adapters' tests: see commonMain.
+                implementation("org.jetbrains.kotlinx:kotlinx-coroutines-core:1.7.3")
             }
         }
         if (androidEnabled) {
@@ -45,6 +45,7 @@ class Config internal constructor(internal val zConfig: JniConfig) {
     companion object {
 
         private const val CONFIG_ENV = "ZENOH_CONFIG"
+        private const val SHARED_MEMORY_ENABLED = "transport/shared_memory/enabled"
 
         /**
          * Returns the default config.
@@ -145,4 +146,23 @@ class Config internal constructor(internal val zConfig: JniConfig) {
     @Throws(ZError::class)
     fun insertJson5(key: String, value: String) =
         zConfig.insertJson5(key, value, throwZError0, throwZError)
+
+    /**
+     * Whether the shared-memory transport is enabled (`transport/shared_memory/enabled`).
+     *
+     * With it enabled on both ends, sessions of the same host may negotiate shared
+     * memory for their exchanges, within what the native runtime was built with and the
+     * rest of `transport/shared_memory` allows. Allocating payloads directly in shared
+     * memory is not exposed by this SDK.
+     */
+    @Throws(ZError::class)
+    fun isSharedMemoryEnabled(): Boolean = getJson(SHARED_MEMORY_ENABLED).trim() == "true"
+
+    /**
+     * Enables or disables the shared-memory transport (`transport/shared_memory/enabled`).
+     *
+     * @see isSharedMemoryEnabled
+     */
+    @Throws(ZError::class)
+    fun setSharedMemoryEnabled(enabled: Boolean) = insertJson5(SHARED_MEMORY_ENABLED, enabled.toString())
 }
@@ -19,6 +19,7 @@ import io.zenoh.bytes.ZBytes
 import io.zenoh.config.EntityGlobalId
 import io.zenoh.config.WhatAmI
 import io.zenoh.config.ZenohId
+import io.zenoh.keyexpr.KeyExprCache
 import io.zenoh.query.Query
 import io.zenoh.query.Reply
 import io.zenoh.sample.Sample
@@ -34,16 +35,20 @@ import io.zenoh.scouting.Hello
  * its owned handle as the final leaf so the [Query] can reply. A `Reply` is a
  * sum type decomposed as a product: both arms' leaves are always in the
  * signature and the not-taken arm's are null — `isOk` discriminates.
+ *
+ * A `keyExprCache`, when given, interns the received key expressions.
  */
 
 internal fun sampleCallbackOf(
+    keyExprCache: KeyExprCache? = null,
     f: (Sample) -> Unit
 ): io.zenoh.jni.sample.SampleCallback =
     io.zenoh.jni.sample.SampleCallback { keStr, payloadH, encId, encSchema, kindInt, timestamp, express, prioInt, ccInt, attachH, reliabilityInt, sourceInfo ->
-        f(Sample.fromParts(keStr, payloadH, encId, encSchema, kindInt, timestamp, express, prioInt, ccInt, attachH, reliabilityInt, sourceInfo))
+        f(Sample.fromParts(keStr, payloadH, encId, encSchema, kindInt, timestamp, express, prioInt, ccInt, attachH, reliabilityInt, sourceInfo, keyExprCache))
     }
 
 internal fun queryCallbackOf(
+    keyExprCache: KeyExprCache? = null,
     f: (Query) -> Unit
 ): io.zenoh.jni.query.QueryCallback =
     io.zenoh.jni.query.QueryCallback { keStr, parameters, payloadH, encId, encSchema, attachH, acceptsReplies, zq ->
@@ -55,7 +60,7 @@ internal fun queryCallbackOf(
         // is dropped when it is replied to (see [Query.reply]) or when [Query] is
         // closed — that drop is what finalizes the querier's get.
         val query = try {
-            Query.fromParts(keStr, parameters, payloadH, encId, encSchema, attachH, acceptsReplies, zq)
+            Query.fromParts(keStr, parameters, payloadH, encId, encSchema, attachH, acceptsReplies, zq, keyExprCache)
         } catch (t: Throwable) {
             // Defense in depth: the leaves carry remote (attacker-controlled)
             // data, and fromParts must be total on it — but if decomposition
@@ -72,6 +77,7 @@ internal fun queryCallbackOf(
     }
 
 internal fun replyCallbackOf(
+    keyExprCache: KeyExprCache? = null,
     f: (Reply) -> Unit
 ): io.zenoh.jni.query.ReplyCallback =
     io.zenoh.jni.query.ReplyCallback { replier, isOk, keStr, payloadH, encId, encSchema, kindInt, timestamp, express, prioInt, ccInt, attachH, reliabilityInt, sourceInfo, errPayloadH, errEncId, errEncSchema ->
@@ -82,13 +88,13 @@ internal fun replyCallbackOf(
             if (isOk) {
                 Reply.Success(
                     replierId,
-                    Sample.fromParts(keStr!!, payloadH!!, encId!!, encSchema, kindInt!!, timestamp, express!!, prioInt!!, ccInt!!, attachH, reliabilityInt!!, sourceInfo)
+                    Sample.fromParts(keStr!!, payloadH!!, encId!!, encSchema, kindInt!!, timestamp, express!!, prioInt!!, ccInt!!, attachH, reliabilityInt!!, sourceInfo, keyExprCache)
                 )
             } else {
                 Reply.Error(
                     replierId,
                     ZBytes.fromHandle(errPayloadH!!),
-                    errEncId?.let { Encoding(it, errEncSchema?.toString(Charsets.UTF_8)) } ?: Encoding.defaultEncoding()
+                    errEncId?.let { Encoding.received(it, errEncSchema) } ?: Encoding.defaultEncoding()
                 )
             }
         )
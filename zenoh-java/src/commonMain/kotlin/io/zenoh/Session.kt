@@ -29,7 +29,10 @@ import io.zenoh.exceptions.throwZError
 import io.zenoh.exceptions.throwZError0
 import io.zenoh.handlers.BlockingQueueHandler
 import io.zenoh.handlers.Callback
+import io.zenoh.handlers.CallbackFutureHandler
+import io.zenoh.handlers.FutureHandler
 import io.zenoh.handlers.Handler
+import io.zenoh.handlers.startAsync
 import io.zenoh.keyexpr.KeyExpr
 import io.zenoh.jni.query.Selector as JniSelector
 import io.zenoh.keyexpr.jniSel
@@ -42,11 +45,15 @@ import io.zenoh.query.*
 import io.zenoh.query.Query
 import io.zenoh.query.Queryable
 import io.zenoh.sample.Sample
-import io.zenoh.session.SessionDeclaration
+import io.zenoh.session.AutoDeclarationOptions
+import io.zenoh.session.DeclarationRegistry
+import io.zenoh.session.KeyExprAutoDeclarer
+import io.zenoh.session.SessionLifecycle
 import io.zenoh.session.SessionInfo
-import java.lang.ref.WeakReference
+import java.nio.ByteBuffer
 import java.util.*
 import java.util.concurrent.BlockingQueue
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.LinkedBlockingDeque
 
 /**
@@ -67,15 +74,25 @@ import java.util.concurrent.LinkedBlockingDeque
  * is sufficient for most use cases. You should _never_ construct one session per publisher/subscriber, as this will
  * significantly increase the size of your Zenoh network, while preventing potential locality-based optimizations.
  */
-class Session private constructor(private val config: Config) : AutoCloseable {
+class Session private constructor(
+    private val config: Config,
+    private val autoDeclarationOptions: AutoDeclarationOptions?,
+) : AutoCloseable {
 
+    // Released by whichever thread finishes closing the session, hence volatile.
+    @Volatile
     internal var zSession: io.zenoh.jni.session.Session? = null
 
-    // Subscribers and Queryables that keep running despite losing references to them.
-    private var strongDeclarations = mutableListOf<SessionDeclaration>()
+    // Guards every use of [zSession] against a concurrent [close].
+    internal val lifecycle = SessionLifecycle()
 
-    // Publishers and queriers that shouldn't be kept alive when losing all references to them.
-    private var weakDeclarations = mutableListOf<WeakReference<SessionDeclaration>>()
+    // Present when the session was opened with [AutoDeclarationOptions].
+    private var autoDeclarer: KeyExprAutoDeclarer? = null
+
+    // Subscribers, queryables and declared key expressions are registered strongly: they keep running despite
+    // losing references to them. Publishers and queriers are registered weakly: they are not kept alive once
+    // all references to them are lost.
+    internal val declarations = DeclarationRegistry()
 
     companion object {
 
@@ -85,12 +102,17 @@ class Session private constructor(private val config: Config) : AutoCloseable {
          * Open a [Session] with the provided [Config].
          *
          * @param config The configuration for the session.
+         * @param autoDeclaration Optional [AutoDeclarationOptions] enabling the automatic declaration of hot keys.
          * @return The opened [Session].
          * @throws [ZError] in the case of a failure.
          */
         @Throws(ZError::class)
-        internal fun open(config: Config): Session {
-            val session = Session(config)
+        internal fun open(config: Config, autoDeclaration: AutoDeclarationOptions? = null): Session {
+            autoDeclaration?.let {
+                require(it.threshold >= 1) { "threshold must be at least 1." }
+                require(it.capacity >= 1) { "capacity must be at least 1." }
+            }
+            val session = Session(config, autoDeclaration)
             return session.launch()
         }
     }
@@ -103,20 +125,24 @@ class Session private constructor(private val config: Config) : AutoCloseable {
      *
      * Every declaration still bound to the session (subscribers, queryables, publishers, queriers, …) is undeclared
      * as part of closing it.
+     *
+     * Closing is safe while other threads are using the session: operations started before [close] complete
+     * before the session is released, and those started after it fail as on a closed session. Closing an already
+     * closed session does nothing. Closed from a callback run by one of its own operations, as a local put, the
+     * session is released once that operation returns.
      */
     override fun close() {
-        strongDeclarations.removeIf {
-            it.undeclare()
-            true
-        }
+        lifecycle.close {
+            try {
+                declarations.undeclareAll()
 
-        weakDeclarations.removeIf {
-            it.get()?.undeclare()
-            true
+                autoDeclarer?.close()
+                autoDeclarer = null
+            } finally {
+                zSession?.close()
+                zSession = null
+            }
         }
-
-        zSession?.close()
-        zSession = null
     }
 
     /**
@@ -177,13 +203,19 @@ class Session private constructor(private val config: Config) : AutoCloseable {
      * ```
      *
      * @param keyExpr The [KeyExpr] the subscriber will be associated to.
+     * @param options Optional [SubscriberOptions] to configure the subscriber.
      * @return [HandlerSubscriber] with a [BlockingQueue] as a receiver.
      */
+    @JvmOverloads
     @Throws(ZError::class)
-    fun declareSubscriber(keyExpr: KeyExpr): HandlerSubscriber<BlockingQueue<Optional<Sample>>> {
+    fun declareSubscriber(
+        keyExpr: KeyExpr,
+        options: SubscriberOptions = SubscriberOptions()
+    ): HandlerSubscriber<BlockingQueue<Optional<Sample>>> {
         return resolveSubscriberWithHandler(
             keyExpr,
-            BlockingQueueHandler(LinkedBlockingDeque())
+            BlockingQueueHandler(LinkedBlockingDeque()),
+            options
         )
     }
 
@@ -223,11 +255,17 @@ class Session private constructor(private val config: Config) : AutoCloseable {
      * @param R the [handler]'s receiver type.
      * @param keyExpr The [KeyExpr] the subscriber will be associated to.
      * @param handler The [Handler] to process the incoming [Sample]s received by the subscriber.
+     * @param options Optional [SubscriberOptions] to configure the subscriber.
      * @return A [HandlerSubscriber] with the [handler]'s receiver.
      */
+    @JvmOverloads
     @Throws(ZError::class)
-    fun <R> declareSubscriber(keyExpr: KeyExpr, handler: Handler<Sample, R>): HandlerSubscriber<R> {
-        return resolveSubscriberWithHandler(keyExpr, handler)
+    fun <R> declareSubscriber(
+        keyExpr: KeyExpr,
+        handler: Handler<Sample, R>,
+        options: SubscriberOptions = SubscriberOptions()
+    ): HandlerSubscriber<R> {
+        return resolveSubscriberWithHandler(keyExpr, handler, options)
     }
 
     /**
@@ -247,7 +285,32 @@ class Session private constructor(private val config: Config) : AutoCloseable {
      */
     @Throws(ZError::class)
     fun declareSubscriber(keyExpr: KeyExpr, callback: Callback<Sample>): CallbackSubscriber {
-        return resolveSubscriberWithCallback(keyExpr, callback)
+        return resolveSubscriberWithCallback(keyExpr, callback, SubscriberOptions())
+    }
+
+    /**
+     * Declare a [Subscriber] on the session using a callback.
+     *
+     * Example with a callback interning the received key expressions in a [io.zenoh.keyexpr.KeyExprCache]:
+     * ```java
+     * try (Session session = Zenoh.open(config)) {
+     *     SubscriberOptions options = new SubscriberOptions();
+     *     options.setKeyExprCache(new KeyExprCache());
+     *     var subscriber = session.declareSubscriber(keyExpr, sample -> {
+     *         handle(sample.getKeyExpr(), sample.getPayload());
+     *     }, options);
+     *     // ...
+     * }
+     * ```
+     *
+     * @param keyExpr The [KeyExpr] the subscriber will be associated to.
+     * @param callback [Callback] for handling the incoming samples.
+     * @param options [SubscriberOptions] to configure the subscriber.
+     * @return A [CallbackSubscriber].
+     */
+    @Throws(ZError::class)
+    fun declareSubscriber(keyExpr: KeyExpr, callback: Callback<Sample>, options: SubscriberOptions): CallbackSubscriber {
+        return resolveSubscriberWithCallback(keyExpr, callback, options)
     }
 
     /**
@@ -395,15 +458,16 @@ class Session private constructor(private val config: Config) : AutoCloseable {
      */
     @Throws(ZError::class)
     fun declareKeyExpr(keyExpr: String): KeyExpr {
-        val zSession = zSession ?: throw sessionClosedException
-        val keyexpr = run {
-            // The one place a KeyExpr carries a native handle: the wire
-            // declaration attached here makes sends through this session
-            // compact, so the handle is worth holding.
-            KeyExpr(keyExpr, zSession.declareKeyexpr(keyExpr, throwZError0, throwZError))
+        return withSession { zSession ->
+            val keyexpr = run {
+                // The one place a KeyExpr carries a native handle: the wire
+                // declaration attached here makes sends through this session
+                // compact, so the handle is worth holding.
+                KeyExpr(keyExpr, zSession.declareKeyexpr(keyExpr, throwZError0, throwZError))
+            }
+            keyexpr.registration = declarations.registerStrong(keyexpr)
+            keyexpr
         }
-        strongDeclarations.add(keyexpr)
-        return keyexpr
     }
 
     /**
@@ -417,19 +481,22 @@ class Session private constructor(private val config: Config) : AutoCloseable {
      */
     @Throws(ZError::class)
     fun undeclare(keyExpr: KeyExpr) {
-        val zSession = zSession ?: throw sessionClosedException
-        val handle = keyExpr.handle
-        if (handle == null || handle.isClosed()) {
-            throw ZError("Attempting to undeclare a non declared key expression.")
-        }
-        try {
-            zSession.undeclareKeyexpr(handle, throwZError0, throwZError)
-        } finally {
-            // The generated wrapper consumes the handle even when the native
-            // undeclare fails (the Rust side takes it by value) — detach it
-            // either way, degrading the KeyExpr to its string form instead of
-            // leaving a dead handle to be selected by later operations.
-            keyExpr.handle = null
+        withSession { zSession ->
+            val handle = keyExpr.handle
+            if (handle == null || handle.isClosed()) {
+                throw ZError("Attempting to undeclare a non declared key expression.")
+            }
+            try {
+                zSession.undeclareKeyexpr(handle, throwZError0, throwZError)
+            } finally {
+                // The generated wrapper consumes the handle even when the native
+                // undeclare fails (the Rust side takes it by value) — detach it
+                // either way, degrading the KeyExpr to its string form instead of
+                // leaving a dead handle to be selected by later operations.
+                keyExpr.handle = null
+                keyExpr.registration?.remove()
+                keyExpr.registration = null
+            }
         }
     }
 
@@ -532,6 +599,46 @@ class Session private constructor(private val config: Config) : AutoCloseable {
         return resolveGetWithCallback(selector, callback, options)
     }
 
+    /**
+     * Perform a get query asynchronously, gathering the replies.
+     *
+     * No thread waits for the replies: the returned future is completed with all of them once the query
+     * is over (all the queryables replied, or the timeout expired), so that many queries can be composed.
+     *
+     * Example:
+     * ```java
+     * try (Session session = Zenoh.open(config)) {
+     *     List<CompletableFuture<List<Reply>>> futures = new ArrayList<>();
+     *     for (Selector selector : selectors) {
+     *         futures.add(session.getAsync(selector));
+     *     }
+     *     CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+     * }
+     * ```
+     *
+     * @param selector The [Selector] for the get query.
+     * @param options Optional [GetOptions] to configure the get query.
+     * @return A [CompletableFuture] of the replies, failed with a [ZError] if the query could not be performed.
+     */
+    @JvmOverloads
+    fun getAsync(selector: IntoSelector, options: GetOptions = GetOptions()): CompletableFuture<List<Reply>> {
+        return startAsync(FutureHandler<Reply>()) { resolveGetWithHandler(selector, it, options) }
+    }
+
+    /**
+     * Perform a get query asynchronously, handling the replies with a [Callback] as they arrive.
+     *
+     * @param selector The [Selector] for the get query.
+     * @param callback The [Callback] to handle the incoming replies.
+     * @param options Optional [GetOptions] to configure the query.
+     * @return A [CompletableFuture] completed once the query is over, failed with a [ZError] if the query
+     *   could not be performed.
+     */
+    @JvmOverloads
+    fun getAsync(selector: IntoSelector, callback: Callback<Reply>, options: GetOptions = GetOptions()): CompletableFuture<Void?> {
+        return startAsync(CallbackFutureHandler(callback)) { resolveGetWithHandler(selector, it, options) }
+    }
+
     /**
      * Perform a put with the provided [payload] to the specified [keyExpr].
      *
@@ -570,6 +677,29 @@ class Session private constructor(private val config: Config) : AutoCloseable {
         resolvePut(keyExpr, ZBytes.from(payload), options)
     }
 
+    /**
+     * Perform a put with the remaining region of the provided [payload] buffer to the specified [keyExpr].
+     *
+     * The buffer, heap or direct, is wrapped rather than copied by the caller (see [ZBytes.wrap]); its
+     * content must stay unchanged until this call returns.
+     *
+     * Example:
+     * ```java
+     * ByteBuffer frame = ByteBuffer.allocateDirect(frameSize);
+     * // ... fill and flip the frame ...
+     * session.put(KeyExpr.from("a/b/c"), frame);
+     * ```
+     *
+     * @param keyExpr The [KeyExpr] for performing the put.
+     * @param payload The payload to put, from its position to its limit.
+     * @param options Optional [PutOptions] to configure the put.
+     */
+    @JvmOverloads
+    @Throws(ZError::class)
+    fun put(keyExpr: KeyExpr, payload: ByteBuffer, options: PutOptions = PutOptions()) {
+        resolvePut(keyExpr, ZBytes.wrap(payload), options)
+    }
+
     /**
      * Perform a delete operation to the specified [keyExpr].
      *
@@ -584,7 +714,7 @@ class Session private constructor(private val config: Config) : AutoCloseable {
 
     /** Returns if session is open or has been closed. */
     fun isClosed(): Boolean {
-        return zSession == null
+        return lifecycle.isClosed
     }
 
     /**
@@ -603,104 +733,110 @@ class Session private constructor(private val config: Config) : AutoCloseable {
 
     @Throws(ZError::class)
     internal fun resolvePublisher(keyExpr: KeyExpr, options: PublisherOptions): Publisher {
-        val zSession = zSession ?: throw sessionClosedException
-        val publisher = run {
-            // The publisher's default encoding is set NATIVELY here, once —
-            // plain puts then cross no encoding data at all (see Publisher).
-            val enc = options.encoding
-            val zPublisher = zSession.declarePublisher(
-                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-                enc.jniSel, enc.jniId, enc.jniSchema, enc.jniHandle,
-                options.congestionControl.jni,
-                options.priority.jni,
-                options.express,
-                options.reliability.jni,
-                throwZError0, throwZError
-            )
-            Publisher(
-                keyExpr,
-                options.congestionControl,
-                options.priority,
-                options.encoding,
-                zPublisher,
-            )
+        return withSession { zSession ->
+            val publisher = run {
+                // The publisher's default encoding is set NATIVELY here, once —
+                // plain puts then cross no encoding data at all (see Publisher).
+                val enc = options.encoding
+                val zPublisher = zSession.declarePublisher(
+                    keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                    enc.jniSel, enc.jniId, enc.jniSchema, enc.jniHandle,
+                    options.congestionControl.jni,
+                    options.priority.jni,
+                    options.express,
+                    options.reliability.jni,
+                    throwZError0, throwZError
+                )
+                Publisher(
+                    keyExpr,
+                    options.congestionControl,
+                    options.priority,
+                    options.encoding,
+                    zPublisher,
+                    lifecycle,
+                )
+            }
+            publisher.registration = declarations.registerWeak(publisher)
+            publisher
         }
-        weakDeclarations.add(WeakReference(publisher))
-        return publisher
     }
 
     @Throws(ZError::class)
     internal fun <R> resolveSubscriberWithHandler(
-        keyExpr: KeyExpr, handler: Handler<Sample, R>
+        keyExpr: KeyExpr, handler: Handler<Sample, R>, options: SubscriberOptions
     ): HandlerSubscriber<R> {
-        val zSession = zSession ?: throw sessionClosedException
-        val subscriber = run {
-            val zSubscriber = zSession.declareSubscriber(
-                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-                sampleCallbackOf { handler.handle(it) },
-                { handler.onClose() },
-                throwZError0, throwZError
-            )
-            HandlerSubscriber(keyExpr, zSubscriber, handler.receiver())
+        return withSession { zSession ->
+            val subscriber = run {
+                val zSubscriber = zSession.declareSubscriber(
+                    keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                    sampleCallbackOf(options.keyExprCache) { handler.handle(it) },
+                    { handler.onClose() },
+                    throwZError0, throwZError
+                )
+                HandlerSubscriber(keyExpr, zSubscriber, handler.receiver())
+            }
+            subscriber.registration = declarations.registerStrong(subscriber)
+            subscriber
         }
-        strongDeclarations.add(subscriber)
-        return subscriber
     }
 
     @Throws(ZError::class)
     internal fun resolveSubscriberWithCallback(
-        keyExpr: KeyExpr, callback: Callback<Sample>
+        keyExpr: KeyExpr, callback: Callback<Sample>, options: SubscriberOptions
     ): CallbackSubscriber {
-        val zSession = zSession ?: throw sessionClosedException
-        val subscriber = run {
-            val zSubscriber = zSession.declareSubscriber(
-                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-                sampleCallbackOf { callback.run(it) },
-                { },
-                throwZError0, throwZError
-            )
-            CallbackSubscriber(keyExpr, zSubscriber)
+        return withSession { zSession ->
+            val subscriber = run {
+                val zSubscriber = zSession.declareSubscriber(
+                    keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                    sampleCallbackOf(options.keyExprCache) { callback.run(it) },
+                    { },
+                    throwZError0, throwZError
+                )
+                CallbackSubscriber(keyExpr, zSubscriber)
+            }
+            subscriber.registration = declarations.registerStrong(subscriber)
+            subscriber
         }
-        strongDeclarations.add(subscriber)
-        return subscriber
     }
 
     @Throws(ZError::class)
     internal fun <R> resolveQueryableWithHandler(
         keyExpr: KeyExpr, handler: Handler<Query, R>, options: QueryableOptions
     ): HandlerQueryable<R> {
-        val zSession = zSession ?: throw sessionClosedException
-        val queryable = run {
-            val zQueryable = zSession.declareQueryable(
-                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-                options.complete,
-                queryCallbackOf { handler.handle(it) },
-                { handler.onClose() },
-                throwZError0, throwZError
-            )
-            HandlerQueryable(keyExpr, zQueryable, handler.receiver())
+        return withSession { zSession ->
+            val queryable = run {
+                val zQueryable = zSession.declareQueryable(
+                    keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                    options.complete,
+                    queryCallbackOf(options.keyExprCache) { handler.handle(it) },
+                    { handler.onClose() },
+                    throwZError0, throwZError
+                )
+                HandlerQueryable(keyExpr, zQueryable, handler.receiver())
+            }
+            queryable.registration = declarations.registerStrong(queryable)
+            queryable
         }
-        strongDeclarations.add(queryable)
-        return queryable
     }
 
     @Throws(ZError::class)
     internal fun resolveQueryableWithCallback(
         keyExpr: KeyExpr, callback: Callback<Query>, options: QueryableOptions
     ): CallbackQueryable {
-        val zSession = zSession ?: throw sessionClosedException
-        val queryable = run {
-            val zQueryable = zSession.declareQueryable(
-                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-                options.complete,
-                queryCallbackOf { callback.run(it) },
-                { },
-                throwZError0, throwZError
-            )
-            CallbackQueryable(keyExpr, zQueryable)
+        return withSession { zSession ->
+            val queryable = run {
+                val zQueryable = zSession.declareQueryable(
+                    keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                    options.complete,
+                    queryCallbackOf(options.keyExprCache) { callback.run(it) },
+                    { },
+                    throwZError0, throwZError
+                )
+                CallbackQueryable(keyExpr, zQueryable)
+            }
+            queryable.registration = declarations.registerStrong(queryable)
+            queryable
         }
-        strongDeclarations.add(queryable)
-        return queryable
     }
 
     @OptIn(Unstable::class)
@@ -708,31 +844,33 @@ class Session private constructor(private val config: Config) : AutoCloseable {
         keyExpr: KeyExpr,
         options: QuerierOptions
     ): Querier {
-        val zSession = zSession ?: throw sessionClosedException
-        val querier = run {
-            val zQuerier = zSession.declareQuerier(
-                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-                options.target.toFlat(),
-                options.consolidationMode.toFlat(),
-                options.congestionControl.jni,
-                options.priority.jni,
-                options.express,
-                options.timeout.toMillis(),
-                options.acceptReplies.toFlat(),
-                throwZError0, throwZError
-            )
-            Querier(
-                keyExpr,
-                QoS(
-                    congestionControl = options.congestionControl,
-                    priority = options.priority,
-                    express = options.express
-                ),
-                zQuerier
-            )
+        return withSession { zSession ->
+            val querier = run {
+                val zQuerier = zSession.declareQuerier(
+                    keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                    options.target.toFlat(),
+                    options.consolidationMode.toFlat(),
+                    options.congestionControl.jni,
+                    options.priority.jni,
+                    options.express,
+                    options.timeout.toMillis(),
+                    options.acceptReplies.toFlat(),
+                    throwZError0, throwZError
+                )
+                Querier(
+                    keyExpr,
+                    QoS(
+                        congestionControl = options.congestionControl,
+                        priority = options.priority,
+                        express = options.express
+                    ),
+                    zQuerier,
+                    lifecycle
+                )
+            }
+            querier.registration = declarations.registerWeak(querier)
+            querier
         }
-        weakDeclarations.add(WeakReference(querier))
-        return querier
     }
 
     @Throws(ZError::class)
@@ -741,29 +879,30 @@ class Session private constructor(private val config: Config) : AutoCloseable {
         handler: Handler<Reply, R>,
         options: GetOptions
     ): R {
-        val zSession = zSession ?: throw sessionClosedException
-        return run {
-            val sel = selector.into()
-            zSession.get(
-                // `session_get` takes the whole selector by value: the key
-                // expression goes in as an owned handle, and the parameters
-                // ride along inside it rather than as a separate argument.
-                JniSelector(sel.keyExpr.intoJniHandle(), sel.parameters?.toString() ?: ""),
-                options.timeout.toMillis(),
-                options.target.toFlat(),
-                options.consolidation.toFlat(),
-                options.acceptReplies.toFlat(),
-                options.qos.congestionControl.jni,
-                options.qos.priority.jni,
-                options.qos.express,
-                options.payload?.into()?.bytes,
-                options.encoding.jniSel, options.encoding.jniId, options.encoding.jniSchema, options.encoding.jniHandle,
-                options.attachment?.into()?.bytes,
-                replyCallbackOf { handler.handle(it) },
-                { handler.onClose() },
-                throwZError0, throwZError
-            )
-            handler.receiver()
+        withSession { zSession ->
+            return run {
+                val sel = selector.into()
+                zSession.get(
+                    // `session_get` takes the whole selector by value: the key
+                    // expression goes in as an owned handle, and the parameters
+                    // ride along inside it rather than as a separate argument.
+                    JniSelector(sel.keyExpr.intoJniHandle(), sel.parameters?.toString() ?: ""),
+                    options.timeout.toMillis(),
+                    options.target.toFlat(),
+                    options.consolidation.toFlat(),
+                    options.acceptReplies.toFlat(),
+                    options.qos.congestionControl.jni,
+                    options.qos.priority.jni,
+                    options.qos.express,
+                    options.payload?.into()?.bytes,
+                    options.encoding.jniSel, options.encoding.jniId, options.encoding.jniSchema, options.encoding.jniHandle,
+                    options.attachment?.into()?.bytes,
+                    replyCallbackOf(options.keyExprCache) { handler.handle(it) },
+                    { handler.onClose() },
+                    throwZError0, throwZError
+                )
+                handler.receiver()
+            }
         }
     }
 
@@ -773,93 +912,140 @@ class Session private constructor(private val config: Config) : AutoCloseable {
         callback: Callback<Reply>,
         options: GetOptions
     ) {
-        val zSession = zSession ?: throw sessionClosedException
-        run {
-            val sel = selector.into()
-            zSession.get(
-                // `session_get` takes the whole selector by value: the key
-                // expression goes in as an owned handle, and the parameters
-                // ride along inside it rather than as a separate argument.
-                JniSelector(sel.keyExpr.intoJniHandle(), sel.parameters?.toString() ?: ""),
-                options.timeout.toMillis(),
-                options.target.toFlat(),
-                options.consolidation.toFlat(),
-                options.acceptReplies.toFlat(),
-                options.qos.congestionControl.jni,
-                options.qos.priority.jni,
-                options.qos.express,
-                options.payload?.into()?.bytes,
-                options.encoding.jniSel, options.encoding.jniId, options.encoding.jniSchema, options.encoding.jniHandle,
-                options.attachment?.into()?.bytes,
-                replyCallbackOf { callback.run(it) },
-                { },
-                throwZError0, throwZError
-            )
+        withSession { zSession ->
+            run {
+                val sel = selector.into()
+                zSession.get(
+                    // `session_get` takes the whole selector by value: the key
+                    // expression goes in as an owned handle, and the parameters
+                    // ride along inside it rather than as a separate argument.
+                    JniSelector(sel.keyExpr.intoJniHandle(), sel.parameters?.toString() ?: ""),
+                    options.timeout.toMillis(),
+                    options.target.toFlat(),
+                    options.consolidation.toFlat(),
+                    options.acceptReplies.toFlat(),
+                    options.qos.congestionControl.jni,
+                    options.qos.priority.jni,
+                    options.qos.express,
+                    options.payload?.into()?.bytes,
+                    options.encoding.jniSel, options.encoding.jniId, options.encoding.jniSchema, options.encoding.jniHandle,
+                    options.attachment?.into()?.bytes,
+                    replyCallbackOf(options.keyExprCache) { callback.run(it) },
+                    { },
+                    throwZError0, throwZError
+                )
+            }
         }
     }
 
     @Throws(ZError::class)
     internal fun resolvePut(keyExpr: KeyExpr, payload: IntoZBytes, putOptions: PutOptions) {
-        val zSession = zSession ?: return
-        run {
-            val enc = putOptions.encoding
-            zSession.put(
-                keyExpr.jniSel, keyExpr.jniStr, keyExpr.jniHandle,
-                payload.into().bytes,
-                enc.jniSel, enc.jniId, enc.jniSchema, enc.jniHandle,
-                putOptions.congestionControl.jni,
-                putOptions.priority.jni,
-                putOptions.express,
-                putOptions.attachment?.into()?.bytes,
-                putOptions.reliability.jni,
-                throwZError0, throwZError
-            )
+        // Like the other operations, but a put on a closed session is silently dropped.
+        if (!lifecycle.enter()) return
+        try {
+            val zSession = zSession ?: return
+            withAutoDeclaration(keyExpr) { target ->
+                val enc = putOptions.encoding
+                zSession.put(
+                    target.jniSel, target.jniStr, target.jniHandle,
+                    payload.into().bytes,
+                    enc.jniSel, enc.jniId, enc.jniSchema, enc.jniHandle,
+                    putOptions.congestionControl.jni,
+                    putOptions.priority.jni,
+                    putOptions.express,
+                    putOptions.attachment?.into()?.bytes,
+                    putOptions.reliability.jni,
+                    throwZError0, throwZError
+                )
+            }
+        } finally {
+            lifecycle.exit()
         }
     }
 
     @Throws(ZError::class)
     internal fun resolveDelete(keyExpr: KeyExpr, deleteOptions: DeleteOptions) {
-        val zSession = zSession ?: return
-        run {
-            zSession.delete(
-                keyExpr.jniSel, keyExpr.jniStr, keyExpr.jniHandle,
-                deleteOptions.congestionControl.jni,
-                deleteOptions.priority.jni,
-                deleteOptions.express,
-                deleteOptions.attachment?.into()?.bytes,
-                deleteOptions.reliability.jni,
-                throwZError0, throwZError
-            )
+        if (!lifecycle.enter()) return
+        try {
+            val zSession = zSession ?: return
+            withAutoDeclaration(keyExpr) { target ->
+                zSession.delete(
+                    target.jniSel, target.jniStr, target.jniHandle,
+                    deleteOptions.congestionControl.jni,
+                    deleteOptions.priority.jni,
+                    deleteOptions.express,
+                    deleteOptions.attachment?.into()?.bytes,
+                    deleteOptions.reliability.jni,
+                    throwZError0, throwZError
+                )
+            }
+        } finally {
+            lifecycle.exit()
+        }
+    }
+
+    /**
+     * Runs [body] with the native session, which [close] cannot release until [body] returns.
+     *
+     * @throws ZError if the session is closing or closed.
+     */
+    @Throws(ZError::class)
+    internal inline fun <T> withSession(body: (io.zenoh.jni.session.Session) -> T): T {
+        if (!lifecycle.enter()) throw sessionClosedException
+        try {
+            return body(zSession ?: throw sessionClosedException)
+        } finally {
+            lifecycle.exit()
+        }
+    }
+
+    /**
+     * Runs [body] with [keyExpr], or with its automatic declaration when the session keeps one
+     * (see [AutoDeclarationOptions]); the declaration cannot be undeclared while [body] runs.
+     */
+    private inline fun withAutoDeclaration(keyExpr: KeyExpr, body: (KeyExpr) -> Unit) {
+        val autoDeclarer = autoDeclarer
+        if (autoDeclarer == null || keyExpr.handle != null) return body(keyExpr)
+        val declaration = autoDeclarer.acquire(keyExpr) ?: return body(keyExpr)
+        try {
+            body(declaration.keyExpr)
+        } finally {
+            autoDeclarer.release(declaration)
         }
     }
 
     @Throws(ZError::class)
     internal fun zid(): ZenohId {
-        val zSession = zSession ?: throw sessionClosedException
-        return ZenohId(zSession.getZid(throwZError0))
+        return withSession { zSession ->
+            ZenohId(zSession.getZid(throwZError0))
+        }
     }
 
     @Throws(ZError::class)
     internal fun getPeersId(): List<ZenohId> {
-        val zSession = zSession ?: throw sessionClosedException
-        // `io.zenoh.jni.config.ZenohId` is a value class, so the native fn
-        // returns `List<io.zenoh.jni.config.ZenohId>` directly; wrap each as ZenohId.
-        return zSession.getPeersZid(throwZError0).map { ZenohId(it) }
+        return withSession { zSession ->
+            // `io.zenoh.jni.config.ZenohId` is a value class, so the native fn
+            // returns `List<io.zenoh.jni.config.ZenohId>` directly; wrap each as ZenohId.
+            zSession.getPeersZid(throwZError0).map { ZenohId(it) }
+        }
     }
 
     @Throws(ZError::class)
     internal fun getRoutersId(): List<ZenohId> {
-        val zSession = zSession ?: throw sessionClosedException
-        return zSession.getRoutersZid(throwZError0).map { ZenohId(it) }
+        return withSession { zSession ->
+            zSession.getRoutersZid(throwZError0).map { ZenohId(it) }
+        }
     }
 
     /** Launches the session, returning the [Session] on success. */
     @Throws(ZError::class)
     private fun launch(): Session {
-        this.zSession = io.zenoh.jni.session.Session.open(
+        val zSession = io.zenoh.jni.session.Session.open(
             config.zConfig.newClone(throwZError0),
             throwZError0, throwZError,
         )
+        this.zSession = zSession
+        autoDeclarer = autoDeclarationOptions?.let { KeyExprAutoDeclarer(zSession, it) }
         return this
     }
 }
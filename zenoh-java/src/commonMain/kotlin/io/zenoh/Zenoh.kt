@@ -24,6 +24,7 @@ import io.zenoh.scouting.HandlerScout
 import io.zenoh.scouting.Hello
 import io.zenoh.scouting.Scout
 import io.zenoh.scouting.ScoutOptions
+import io.zenoh.session.AutoDeclarationOptions
 import java.util.*
 import java.util.concurrent.BlockingQueue
 import java.util.concurrent.LinkedBlockingDeque
@@ -42,6 +43,20 @@ object Zenoh {
         return Session.open(config)
     }
 
+    /**
+     * Open a [Session] with the provided [Config], declaring its frequently used key expressions
+     * automatically.
+     *
+     * @param config The configuration for the session.
+     * @param autoDeclaration The [AutoDeclarationOptions] of the session.
+     * @return The [Session] on success.
+     */
+    @JvmStatic
+    @Throws(ZError::class)
+    fun open(config: Config, autoDeclaration: AutoDeclarationOptions): Session {
+        return Session.open(config, autoDeclaration)
+    }
+
     /**
      * Scout for routers and/or peers.
      *
@@ -16,6 +16,7 @@ package io.zenoh.bytes
 
 import io.zenoh.jni.bytes.*
 import io.zenoh.jni.bytes.Encoding as JniEncoding
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * Default encoding values used by Zenoh.
@@ -53,6 +54,11 @@ class Encoding internal constructor(
     internal val schema: String? = null,
     /** The owned native handle, when this encoding was born with one. */
     internal val handle: JniEncoding? = null,
+    /**
+     * The schema as sent on the wire, encoded once: the raw bytes of a received
+     * encoding, the UTF-8 encoding of [schema] otherwise.
+     */
+    internal val schemaBytes: ByteArray? = schema?.toByteArray(Charsets.UTF_8),
 ) {
 
     companion object {
@@ -110,6 +116,105 @@ class Encoding internal constructor(
         @JvmField val VIDEO_VP8 = Encoding(ENCODING_VIDEO_VP8_ID)
         @JvmField val VIDEO_VP9 = Encoding(ENCODING_VIDEO_VP9_ID)
 
+        /** The predefined constants, indexed by id, shared by the encodings received without a schema. */
+        private val predefined: Array<Encoding?> = listOf(
+            ZENOH_BYTES,
+            ZENOH_STRING,
+            ZENOH_SERIALIZED,
+            APPLICATION_OCTET_STREAM,
+            TEXT_PLAIN,
+            APPLICATION_JSON,
+            TEXT_JSON,
+            APPLICATION_CDR,
+            APPLICATION_CBOR,
+            APPLICATION_YAML,
+            TEXT_YAML,
+            TEXT_JSON5,
+            APPLICATION_PYTHON_SERIALIZED_OBJECT,
+            APPLICATION_PROTOBUF,
+            APPLICATION_JAVA_SERIALIZED_OBJECT,
+            APPLICATION_OPENMETRICS_TEXT,
+            IMAGE_PNG,
+            IMAGE_JPEG,
+            IMAGE_GIF,
+            IMAGE_BMP,
+            IMAGE_WEBP,
+            APPLICATION_XML,
+            APPLICATION_X_WWW_FORM_URLENCODED,
+            TEXT_HTML,
+            TEXT_XML,
+            TEXT_CSS,
+            TEXT_JAVASCRIPT,
+            TEXT_MARKDOWN,
+            TEXT_CSV,
+            APPLICATION_SQL,
+            APPLICATION_COAP_PAYLOAD,
+            APPLICATION_JSON_PATCH_JSON,
+            APPLICATION_JSON_SEQ,
+            APPLICATION_JSONPATH,
+            APPLICATION_JWT,
+            APPLICATION_MP4,
+            APPLICATION_SOAP_XML,
+            APPLICATION_YANG,
+            AUDIO_AAC,
+            AUDIO_FLAC,
+            AUDIO_MP4,
+            AUDIO_OGG,
+            AUDIO_VORBIS,
+            VIDEO_H261,
+            VIDEO_H263,
+            VIDEO_H264,
+            VIDEO_H265,
+            VIDEO_H266,
+            VIDEO_MP4,
+            VIDEO_OGG,
+            VIDEO_RAW,
+            VIDEO_VP8,
+            VIDEO_VP9,
+        ).let { constants ->
+            arrayOfNulls<Encoding>(constants.maxOf { it.id } + 1).also { byId ->
+                constants.forEach { byId[it.id] = it }
+            }
+        }
+
+        /** The size of [received]'s schema cache: a power of two, so the hash masks to an index. */
+        private const val RECEIVED_CACHE_SIZE = 256
+
+        /** A schema-carrying received encoding along with the raw bytes it was decoded from. */
+        private class Received(val id: Int, val schema: ByteArray, val encoding: Encoding)
+
+        /**
+         * Direct-mapped cache of the schema-carrying encodings received lately. Entries are
+         * immutable, so a racing read sees either a whole entry or none; a collision simply
+         * replaces the previous one, bounding the cache to its slots.
+         */
+        private val receivedCache = arrayOfNulls<Received>(RECEIVED_CACHE_SIZE)
+
+        /**
+         * The encoding of a received message (sample, query, reply). A message carries one of a
+         * handful of distinct encodings, so they are interned rather than allocated per message:
+         * without a schema, the predefined constant of [id] is returned; with one, the encoding
+         * last received with the same id and [schema] bytes, which are decoded only on a cache
+         * miss. Either way the result is value-only, like every received encoding.
+         */
+        internal fun received(id: Int, schema: ByteArray?): Encoding {
+            if (schema == null) {
+                return predefined.getOrNull(id) ?: Encoding(id)
+            }
+            val slot = (31 * id + schema.contentHashCode()).let { it xor (it ushr 16) } and (RECEIVED_CACHE_SIZE - 1)
+            val cached = receivedCache[slot]
+            if (cached != null && cached.id == id && cached.schema.contentEquals(schema)) {
+                return cached.encoding
+            }
+            // A schema is raw bytes on the wire and zenoh does not require it
+            // to be UTF-8; this SDK's Encoding carries a String, so a schema
+            // that is not valid UTF-8 decodes lossily rather than throwing on
+            // a received message.
+            val encoding = Encoding(id, schema.toString(Charsets.UTF_8), null, schema)
+            receivedCache[slot] = Received(id, schema, encoding)
+            return encoding
+        }
+
         /** The default [Encoding] is [ZENOH_BYTES]. */
         @JvmStatic fun defaultEncoding() = ZENOH_BYTES
 
@@ -121,16 +226,46 @@ class Encoding internal constructor(
          * A plain well-known name yields a value-only encoding (sends carry
          * just the id); a schema-carrying/custom result creates its native
          * handle here — construction is the one crossing, every send after is
-         * a bare `jlong`.
+         * a bare `jlong`. Parsed encodings are cached: repeating a textual form
+         * returns the same instance, with the same handle.
          */
         @JvmStatic fun from(s: String): Encoding {
+            parsed[s]?.let { return it }
             val (id, schema) = EncodingCodec.parse(s)
-            return Encoding(id, schema, schema?.let { createHandle(id, it) })
+            val encoding = if (schema == null) predefined.getOrNull(id) ?: Encoding(id) else custom(id, schema)
+            return if (parsed.size < CACHE_SIZE) parsed.putIfAbsent(s, encoding) ?: encoding else encoding
+        }
+
+        /**
+         * The bound of the [from] parse cache and of the custom encoding cache. Applications use
+         * a handful of encodings: past the bound, new ones are simply not cached.
+         */
+        private const val CACHE_SIZE = 256
+
+        /** The encodings parsed by [from], by textual form. */
+        private val parsed = ConcurrentHashMap<String, Encoding>()
+
+        private data class CustomKey(val id: Int, val schema: String?)
+
+        /** The custom encodings created so far, each with its native handle. */
+        private val customs = ConcurrentHashMap<CustomKey, Encoding>()
+
+        /**
+         * The custom encoding `(id, schema)`, shared: its native handle is created with the
+         * first instance and reused by every later [from] or [withSchema] yielding the same pair
+         * — the handle is only ever borrowed by sends, so one serves them all.
+         */
+        private fun custom(id: Int, schema: String?): Encoding {
+            val key = CustomKey(id, schema)
+            customs[key]?.let { return it }
+            val schemaBytes = schema?.toByteArray(Charsets.UTF_8)
+            val encoding = Encoding(id, schema, createHandle(id, schemaBytes), schemaBytes)
+            return if (customs.size < CACHE_SIZE) customs.putIfAbsent(key, encoding) ?: encoding else encoding
         }
 
         /** Native handle for a custom encoding — construction is the one crossing. */
-        private fun createHandle(id: Int, schema: String?): JniEncoding =
-            JniEncoding.newFromId(id, schema?.toByteArray(Charsets.UTF_8)) { je ->
+        private fun createHandle(id: Int, schemaBytes: ByteArray?): JniEncoding =
+            JniEncoding.newFromId(id, schemaBytes) { je ->
                 throw IllegalStateException("encoding creation failed: $je")
             }
     }
@@ -141,10 +276,11 @@ class Encoding internal constructor(
      *
      * The result is a custom encoding, so its native handle is created here —
      * construction is the one crossing, every send after is a bare `jlong`.
+     * Like [from], it is shared with every other request for the same schema.
      */
     fun withSchema(schema: String): Encoding {
         val (nid, nschema) = EncodingCodec.withSchema(id, this.schema, schema)
-        return Encoding(nid, nschema, createHandle(nid, nschema))
+        return custom(nid, nschema)
     }
 
     /** Canonical textual form. */
@@ -179,10 +315,10 @@ internal val Encoding?.jniId: Int?
 
 // A schema is raw bytes on the wire; zenoh transmits it verbatim and does not
 // require it to be UTF-8. This wrapper's schema is a String throughout (its
-// EncodingCodec is a text codec), so the transcode happens here, at the one
-// point where the value crosses.
+// EncodingCodec is a text codec), so it is transcoded once, when the encoding
+// is built (see Encoding.schemaBytes), and every send reuses the bytes.
 internal val Encoding?.jniSchema: ByteArray?
-    get() = if (this != null && handle == null) schema?.toByteArray(Charsets.UTF_8) else null
+    get() = if (this != null && handle == null) schemaBytes else null
 
 internal val Encoding?.jniHandle: JniEncoding?
     get() = this?.handle
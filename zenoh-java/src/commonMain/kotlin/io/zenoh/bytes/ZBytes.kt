@@ -16,6 +16,11 @@ package io.zenoh.bytes
 
 import io.zenoh.exceptions.throwZError0
 import io.zenoh.jni.bytes.ZBytes as JniZBytes
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
 
 /**
  * ZBytes contains the serialized bytes of user data.
@@ -46,14 +51,41 @@ import io.zenoh.jni.bytes.ZBytes as JniZBytes
  * small payload sizes. In callback-based subscribers/queryables, access
  * (or discard) payloads and attachments you care about; unread ones on
  * dropped samples are the one place native memory can be retained.
+ * [release] frees an unread one explicitly.
+ *
+ * A ZBytes *wrapping* a [ByteBuffer] ([wrap]) is not copied by the
+ * application: producers that already hold frames in (direct) buffers hand
+ * them over as they are. The flat JNI payload parameter is a `jbyteArray`,
+ * though, so the SDK still copies the region once into an array of its
+ * own, the first time the payload is sent or read, and keeps that copy for
+ * later sends and reads. [fromFile] wraps a memory-mapped file region the
+ * same way, so large files are not read into an application array before
+ * being put or replied; their copy is not kept between crossings.
+ *
+ * A *composite* ZBytes ([concat], [builder]) keeps its segments separate —
+ * a header and a body living in different buffers are not concatenated by
+ * the application. They are joined only where the payload crosses to the
+ * native layer, and [segments] / [copyTo] walk them in place.
  */
 class ZBytes private constructor(
     initialBytes: ByteArray?,
     private var handle: JniZBytes?,
+    /**
+     * The wrapped region — a private duplicate, so the caller's position and
+     * limit can move freely after [wrap] — or `null` when not buffer-backed.
+     */
+    private val buffer: ByteBuffer? = null,
+    /** The segments of a composite ZBytes, in order, or `null` when not composite. */
+    private val parts: Array<ZBytes>? = null,
+    /**
+     * Whether the copy of [buffer] made at the first read is kept for later ones. Not for a
+     * mapped file region, which may be large and is paged in again cheaply.
+     */
+    private val keepsBufferCopy: Boolean = true,
 ) : IntoZBytes {
 
     /**
-     * The materialized bytes, `null` until a handle-backed ZBytes is read.
+     * The materialized bytes, `null` until a handle-backed or buffer-backed ZBytes is read.
      * Volatile: the [bytes] getter reads it outside the monitor, so the write
      * under the monitor must be safely published to that unlocked fast path.
      * `handle` needs no such treatment — it is only touched inside the monitor.
@@ -61,6 +93,8 @@ class ZBytes private constructor(
     @Volatile
     private var eager: ByteArray? = initialBytes
 
+    private var released = false
+
     internal constructor(bytes: ByteArray) : this(bytes, null)
 
     /**
@@ -70,8 +104,9 @@ class ZBytes private constructor(
      * rule: the handle is delivered eagerly, the heavy bytes on demand).
      */
     internal val bytes: ByteArray
-        get() = eager ?: synchronized(this) {
+        get() = eager ?: buffer?.let { bufferBytes(it) } ?: parts?.let { joinParts(it) } ?: synchronized(this) {
             eager ?: run {
+                check(!released) { "ZBytes has been released." }
                 val h = handle!!
                 val b = h.toBytes(throwZError0)
                 eager = b
@@ -81,6 +116,21 @@ class ZBytes private constructor(
             }
         }
 
+    /**
+     * The bytes of a wrapped region, bulk-copied into an array of its exact size — the flat
+     * JNI payload parameter is a `jbyteArray`, so this is the one copy left, made by the SDK
+     * rather than by the caller. Even a heap buffer spanning its whole backing array is
+     * copied, so that the caller's array never escapes through [toBytes]. The copy is kept
+     * in [eager] unless [keepsBufferCopy] is off; two threads reading at once may both copy,
+     * which is harmless as the region does not change.
+     */
+    private fun bufferBytes(buffer: ByteBuffer): ByteArray {
+        val out = ByteArray(buffer.remaining())
+        buffer.duplicate().get(out)
+        if (keepsBufferCopy) eager = out
+        return out
+    }
+
     companion object {
 
         /**
@@ -96,12 +146,140 @@ class ZBytes private constructor(
         fun from(bytes: ByteArray) = ZBytes(bytes)
 
         /**
-         * Decodes a native `ZZBytes` handle into a value [ZBytes] and frees the
-         * handle. Used when an accessor / callback hands back an owned buffer.
+         * Creates a [ZBytes] instance wrapping the remaining region of a [ByteBuffer],
+         * heap or direct, so that the caller does not stage it through an array of its own.
+         *
+         * The region (from the buffer's position to its limit, as of this call) is not
+         * copied by this call. It is copied once, into an array of its exact size, the first
+         * time the payload is sent or read: the flat JNI payload parameter is a `jbyteArray`,
+         * so this copy cannot be avoided, and it is kept for every later send and read. The
+         * region's content must therefore stay unchanged for as long as the ZBytes is in use.
+         * The buffer's own position and limit are not modified, and its backing array is
+         * never handed out.
+         */
+        @JvmStatic
+        fun wrap(buffer: ByteBuffer) = ZBytes(null, null, buffer.slice())
+
+        /**
+         * Creates a [ZBytes] backed by a read-only memory mapping of the whole file at [path].
+         *
+         * @see fromFile
+         */
+        @JvmStatic
+        @Throws(IOException::class)
+        fun fromFile(path: Path): ZBytes = FileChannel.open(path, StandardOpenOption.READ).use {
+            mapRegion(it, 0, it.size())
+        }
+
+        /**
+         * Creates a [ZBytes] backed by a read-only memory mapping of [length] bytes of the
+         * file at [path], starting at [offset].
+         *
+         * The file content is not loaded onto the heap by this call: the region is paged in by
+         * the operating system and copied when the payload crosses to the native layer, as for
+         * any wrapped buffer (see [wrap]), and nothing is retained between crossings. The file
+         * must therefore not be modified until the put / reply using it returns. A region is
+         * limited to [Int.MAX_VALUE] bytes.
+         *
+         * Example, serving a large file from a queryable:
+         * ```java
+         * ZBytes blob = ZBytes.fromFile(Path.of("map.bin"));
+         * session.declareQueryable(keyExpr, query -> query.reply(query.getKeyExpr(), blob));
+         * ```
+         *
+         * @throws IllegalArgumentException if the region is out of the file's bounds or too large.
+         * @throws IOException if the file cannot be opened or mapped.
          */
+        @JvmStatic
+        @Throws(IOException::class)
+        fun fromFile(path: Path, offset: Long, length: Long): ZBytes =
+            FileChannel.open(path, StandardOpenOption.READ).use { mapRegion(it, offset, length) }
+
+        private fun mapRegion(channel: FileChannel, offset: Long, length: Long): ZBytes {
+            require(offset >= 0 && length >= 0 && offset <= channel.size() - length) {
+                "Region [$offset, ${offset + length}) is out of the bounds of a ${channel.size()} bytes file."
+            }
+            require(length <= Int.MAX_VALUE) { "A region is limited to ${Int.MAX_VALUE} bytes, not $length." }
+            // The mapping stays valid once the channel is closed.
+            return ZBytes(null, null, channel.map(FileChannel.MapMode.READ_ONLY, offset, length), keepsBufferCopy = false)
+        }
+
+        /**
+         * Creates a composite [ZBytes] made of [parts], in order, without copying them.
+         *
+         * The result reads as the concatenation of the parts, but their content is only
+         * joined where the payload crosses to the native layer. Parts wrapping buffers
+         * ([wrap]) follow the same rule as a single wrapped buffer: their content must stay
+         * unchanged until the put / reply using them returns.
+         */
+        @JvmStatic
+        fun concat(vararg parts: ZBytes): ZBytes =
+            if (parts.size == 1) parts[0] else ZBytes(null, null, parts = arrayOf(*parts))
+
+        /** Returns a [ZBytesBuilder] to assemble a composite [ZBytes] segment by segment. */
+        @JvmStatic
+        fun builder() = ZBytesBuilder()
+
+        /** Creates a composite [ZBytes] over [parts], taking ownership of the array. */
+        internal fun ofParts(parts: Array<ZBytes>): ZBytes = ZBytes(null, null, parts = parts)
+
+        /**
+         * The joined bytes of a composite. The flat JNI payload parameter is a
+         * single `jbyteArray`, so this is where the segments meet: one array of
+         * the exact total size, filled segment by segment. Not cached, like a
+         * wrapped region — the segments are re-read at every crossing.
+         */
+        private fun joinParts(parts: Array<ZBytes>): ByteArray {
+            val out = ByteArray(parts.sumOf { it.size() })
+            var offset = 0
+            for (part in parts) {
+                offset += part.copyTo(out, offset)
+            }
+            return out
+        }
+
+
         /** Wrap a received owned handle; bytes are read lazily (see [bytes]). */
-        internal fun fromHandle(handle: JniZBytes): ZBytes =
-            ZBytes(null, handle)
+        internal fun fromHandle(handle: JniZBytes): ZBytes = ZBytes(null, handle)
+    }
+
+    /**
+     * Frees the native buffer of a received payload that the application will not read.
+     *
+     * An unread payload otherwise retains its native buffer (see the class documentation);
+     * after this call, reading it throws [IllegalStateException]. A payload that was already
+     * read holds no native memory any more — its bytes live in a heap array the application
+     * may still be using — so releasing it does nothing, as for a ZBytes created by the
+     * application ([from], [wrap], [fromFile], [concat]).
+     */
+    fun release() {
+        synchronized(this) {
+            val h = handle ?: return
+            released = true
+            handle = null
+            h.close()
+        }
+    }
+
+    /**
+     * Returns a ZBytes holding a snapshot of this payload in a single array, for payloads sent
+     * many times over (heartbeats, status snapshots, cached replies).
+     *
+     * A mapped file region or a composite is otherwise re-read — and a composite re-joined — at
+     * every put / reply; the pinned ZBytes is prepared once and each send hands the native layer
+     * the same array. A wrapped buffer is copied now rather than at its first use, and later
+     * changes to the wrapped buffers do not affect the pinned ZBytes. A ZBytes created with
+     * [from] is already a single array and is returned as is, and so is a received payload,
+     * once materialized by this call.
+     */
+    fun pin(): ZBytes {
+        val b = buffer
+        val ps = parts
+        return when {
+            b != null -> ZBytes(ByteArray(b.remaining()).also { b.duplicate().get(it) })
+            ps != null -> ZBytes(joinParts(ps))
+            else -> this.also { bytes }
+        }
     }
 
     /**
@@ -115,6 +293,120 @@ class ZBytes private constructor(
     /** Returns the internal byte representation of the [ZBytes]. */
     fun toBytes(): ByteArray = bytes
 
+    /**
+     * The number of bytes of the payload.
+     *
+     * A wrapped buffer reports its region without reading it. A received
+     * payload is materialized into a `byte[]` by this call (see [bytes]) — the
+     * flat JNI layer exposes neither its length nor its content other than
+     * through that one copy — so the copy made here is the one every later
+     * read is served from.
+     */
+    fun size(): Int = buffer?.remaining() ?: parts?.sumOf { it.size() } ?: bytes.size
+
+    /**
+     * The segments of the payload as read-only [ByteBuffer] views, in order, without copying them.
+     *
+     * A composite ZBytes ([concat], [builder]) yields the segments it was assembled from — nested
+     * composites flattened, empty segments skipped. Any other ZBytes is a single segment. A
+     * received payload is a single segment too: the flat JNI layer hands it over already
+     * contiguous, so its native slices are not observable.
+     */
+    fun segments(): List<ByteBuffer> {
+        val out = ArrayList<ByteBuffer>()
+        collectSegments(out)
+        return out
+    }
+
+    private fun collectSegments(out: MutableList<ByteBuffer>) {
+        val ps = parts
+        if (ps == null) {
+            if (size() > 0) out.add(asReadOnlyByteBuffer())
+            return
+        }
+        for (part in ps) {
+            part.collectSegments(out)
+        }
+    }
+
+    /**
+     * Copies the payload into [dst], starting at its position, which is advanced by the
+     * number of bytes copied. A wrapped buffer is transferred buffer-to-buffer and a
+     * composite segment by segment. A received payload is first materialized into a
+     * `byte[]` (see [bytes]) — the flat JNI layer can only copy it out into an array it
+     * allocates itself — and copied from there; that array is kept, so later reads do not
+     * copy out of the native buffer again.
+     *
+     * @return The number of bytes copied, i.e. [size].
+     * @throws java.nio.BufferOverflowException if [dst] has less than [size] bytes remaining,
+     *   in which case nothing is copied.
+     */
+    fun copyTo(dst: ByteBuffer): Int {
+        val b = buffer
+        if (b != null) {
+            val n = b.remaining()
+            dst.put(b.duplicate())
+            return n
+        }
+        val ps = parts
+        if (ps != null) {
+            val n = size()
+            if (dst.remaining() < n) throw java.nio.BufferOverflowException()
+            for (part in ps) {
+                part.copyTo(dst)
+            }
+            return n
+        }
+        val src = bytes
+        dst.put(src)
+        return src.size
+    }
+
+    /**
+     * Copies the payload into [dst] at [offset], letting callers decode into
+     * arrays they reuse across messages. A received payload is materialized into a
+     * `byte[]` first, as for [copyTo] into a [ByteBuffer].
+     *
+     * @return The number of bytes copied, i.e. [size].
+     * @throws IndexOutOfBoundsException if [dst] cannot hold [size] bytes from [offset],
+     *   in which case nothing is copied.
+     */
+    @JvmOverloads
+    fun copyTo(dst: ByteArray, offset: Int = 0): Int {
+        val b = buffer
+        if (b != null) {
+            val n = b.remaining()
+            b.duplicate().get(dst, offset, n)
+            return n
+        }
+        val ps = parts
+        if (ps != null) {
+            val n = size()
+            if (offset < 0 || offset > dst.size - n) {
+                throw IndexOutOfBoundsException("Cannot copy $n bytes at offset $offset into ${dst.size} bytes.")
+            }
+            var at = offset
+            for (part in ps) {
+                at += part.copyTo(dst, at)
+            }
+            return n
+        }
+        val src = bytes
+        src.copyInto(dst, offset)
+        return src.size
+    }
+
+    /**
+     * A read-only [ByteBuffer] view of the payload, positioned at 0 with a limit of [size].
+     * The view shares the payload's storage, and each call returns an independent position
+     * and limit. A received payload has no storage to share until it is materialized into a
+     * `byte[]` (see [bytes]), which the first call does; the view is then over that array. A
+     * composite's segments are joined into a fresh array for the view — see [segments] to
+     * read them in place.
+     */
+    fun asReadOnlyByteBuffer(): ByteBuffer =
+        (buffer?.duplicate() ?: ByteBuffer.wrap(bytes)).asReadOnlyBuffer()
+
     /** Attempts to decode the [ZBytes] into a string with UTF-8 encoding. */
     @Throws
     fun tryToString(): String =
@@ -0,0 +1,52 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+package io.zenoh.bytes
+
+import java.nio.ByteBuffer
+
+/**
+ * Builder of a composite [ZBytes], obtained through [ZBytes.builder].
+ *
+ * Each appended segment is kept as is — arrays and buffers are wrapped, not copied — until
+ * the built payload crosses to the native layer (see [ZBytes.concat]).
+ *
+ * Example:
+ * ```java
+ * ZBytes message = ZBytes.builder()
+ *         .append(header)
+ *         .append(bodyBuffer)
+ *         .build();
+ * publisher.put(message);
+ * ```
+ */
+class ZBytesBuilder internal constructor() {
+
+    private val parts = ArrayList<ZBytes>()
+
+    /** Appends [bytes] as the next segment. */
+    fun append(bytes: IntoZBytes) = apply { parts.add(bytes.into()) }
+
+    /** Appends [bytes] as the next segment, without copying it. */
+    fun append(bytes: ByteArray) = apply { parts.add(ZBytes.from(bytes)) }
+
+    /** Appends the remaining region of [buffer] as the next segment, without copying it (see [ZBytes.wrap]). */
+    fun append(buffer: ByteBuffer) = apply { parts.add(ZBytes.wrap(buffer)) }
+
+    /** Appends the UTF-8 encoding of [string] as the next segment. */
+    fun append(string: String) = apply { parts.add(ZBytes.from(string)) }
+
+    /** Builds the composite [ZBytes]. The builder can keep being used afterwards. */
+    fun build(): ZBytes = if (parts.size == 1) parts[0] else ZBytes.ofParts(parts.toTypedArray())
+}
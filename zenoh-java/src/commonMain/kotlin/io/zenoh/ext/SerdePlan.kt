@@ -0,0 +1,277 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.ext
+
+import io.zenoh.bytes.IntoZBytes
+import io.zenoh.bytes.ZBytes
+import io.zenoh.exceptions.ZError
+import java.lang.reflect.ParameterizedType
+import java.lang.reflect.Type
+import java.lang.reflect.WildcardType
+import java.util.Spliterator
+import java.util.Spliterators
+import java.util.concurrent.ConcurrentHashMap
+import java.util.stream.Stream
+import java.util.stream.StreamSupport
+
+/**
+ * A compiled serialization plan: how values of one type are written to and read from the
+ * Zenoh serialization format (see [ZBytesWriter]), entirely on the JVM.
+ *
+ * Plans form a tree mirroring the type — a `Map<String, List<Double>>` is a [MapPlan] of a
+ * [StringPlan] and a [ListPlan] of [DoublePlan] — and produce exactly the bytes of
+ * the native `SerializationCodec` for the same `SerdeType`, without crossing JNI or
+ * boxing the value as an intermediate `List<Any>`.
+ */
+internal abstract class SerdePlan {
+
+    /** Writes [value], which must be of the planned type, to [writer]. */
+    abstract fun write(writer: ZBytesWriter, value: Any?)
+
+    /** Reads a value of the planned type from [reader]. */
+    abstract fun read(reader: ZBytesReader): Any
+
+    /** Serializes [value] as a whole payload. */
+    fun serialize(value: Any?): ZBytes {
+        val writer = ZBytesWriter()
+        write(writer, value)
+        return writer.toZBytes()
+    }
+
+    /** Deserializes a whole payload, which must hold exactly one value of the planned type. */
+    fun deserialize(zbytes: IntoZBytes): Any {
+        val reader = ZBytesReader(zbytes)
+        val value = read(reader)
+        if (!reader.isDone()) throw ZError("${reader.remaining()} unexpected trailing bytes.")
+        return value
+    }
+
+    /**
+     * Iterates over a whole payload holding a sequence of values of the planned type, decoding
+     * each one on demand. The trailing-bytes check runs once the last element is read.
+     */
+    fun iterate(zbytes: IntoZBytes): Iterator<Any> {
+        val reader = ZBytesReader(zbytes)
+        val size = reader.readSequenceLength()
+        if (size == 0 && !reader.isDone()) throw ZError("${reader.remaining()} unexpected trailing bytes.")
+        return object : Iterator<Any> {
+            private var left = size
+
+            override fun hasNext() = left > 0
+
+            override fun next(): Any {
+                if (left == 0) throw NoSuchElementException()
+                val value = read(reader)
+                if (--left == 0 && !reader.isDone()) {
+                    throw ZError("${reader.remaining()} unexpected trailing bytes.")
+                }
+                return value
+            }
+        }
+    }
+
+    /** [iterate] as a sequential, ordered [Stream]. */
+    fun stream(zbytes: IntoZBytes): Stream<Any> {
+        val iterator = iterate(zbytes)
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+    }
+}
+
+/** The [SerdePlan] of each type seen so far — see [serdePlanOf]. */
+private val serdePlans = ConcurrentHashMap<Type, SerdePlan>()
+
+/** The types being compiled on this thread, each with the placeholder standing for its plan. */
+private val compiling = ThreadLocal.withInitial { HashMap<Type, RecursivePlan>() }
+
+/**
+ * The [SerdePlan] of [type], compiled by [serdePlanOfJava] the first time the type is seen
+ * and reused afterwards: the reflective walk runs once per type, not once per message. Not
+ * built inside `computeIfAbsent`, which rejects the nested updates of a recursive build; a race
+ * at worst compiles an equivalent plan twice.
+ *
+ * A recursive type (`data class Node(val children: List<Node>)`) meets itself while it is
+ * being compiled: it then gets a [RecursivePlan] that is bound to its plan once that is done.
+ * The plans compiled meanwhile may hold such a placeholder, so only the outermost plan — whose
+ * placeholders are all bound by then — is cached.
+ */
+internal fun serdePlanOf(type: Type): SerdePlan {
+    serdePlans[type]?.let { return it }
+    val inProgress = compiling.get()
+    inProgress[type]?.let { return it }
+    val placeholder = RecursivePlan()
+    inProgress[type] = placeholder
+    val plan = try {
+        serdePlanOfJava(type)
+    } finally {
+        inProgress.remove(type)
+    }
+    placeholder.target = plan
+    return if (inProgress.isEmpty()) serdePlans.putIfAbsent(type, plan) ?: plan else plan
+}
+
+/** Stands for the plan of a type from within its own plan: see [serdePlanOf]. */
+private class RecursivePlan : SerdePlan() {
+
+    lateinit var target: SerdePlan
+
+    override fun write(writer: ZBytesWriter, value: Any?) = target.write(writer, value)
+
+    override fun read(reader: ZBytesReader): Any = target.read(reader)
+}
+
+/**
+ * Compiles the [SerdePlan] of a Guava `TypeToken`'s [java.lang.reflect.Type], supporting the
+ * same types as the native `SerializationCodec`, plus `int[]`, `long[]`, `float[]` and `double[]`, encoded
+ * as the sequence of their elements — byte-for-byte a `List<Integer>`, `List<Long>`, ... — but
+ * copied in bulk rather than element by element through boxes, and records and Kotlin data
+ * classes, encoded as tuples (see [TuplePlan]). Throws [ZError] on an unsupported type.
+ */
+internal fun serdePlanOfJava(type: Type): SerdePlan = when (type) {
+    is Class<*> -> when (type.name) {
+        "java.lang.Boolean", "boolean" -> BooleanPlan
+        "java.lang.Byte", "byte" -> BytePlan
+        "java.lang.Short", "short" -> ShortPlan
+        "java.lang.Integer", "int" -> IntPlan
+        "java.lang.Long", "long" -> LongPlan
+        "java.lang.Float", "float" -> FloatPlan
+        "java.lang.Double", "double" -> DoublePlan
+        "java.lang.String" -> StringPlan
+        "[B" -> BytesPlan
+        "[I" -> IntArrayPlan
+        "[J" -> LongArrayPlan
+        "[F" -> FloatArrayPlan
+        "[D" -> DoubleArrayPlan
+        else -> TuplePlan.of(type, type) ?: throw ZError("Unsupported type: ${type.name}")
+    }
+    is ParameterizedType -> {
+        val raw = type.rawType as? Class<*> ?: throw ZError("Unsupported raw type: ${type.rawType}")
+        val args = type.actualTypeArguments
+        when {
+            List::class.java.isAssignableFrom(raw) && args.size == 1 ->
+                ListPlan(serdePlanOf(args[0]))
+            Map::class.java.isAssignableFrom(raw) && args.size == 2 ->
+                MapPlan(serdePlanOf(args[0]), serdePlanOf(args[1]))
+            else -> TuplePlan.of(raw, type) ?: throw ZError("Unsupported parameterized type: ${raw.name}")
+        }
+    }
+    // Kotlin declares `List<out E>` / `Map<K, out V>`: `List<List<Int>>` reflects as `List<? extends List<Integer>>`.
+    is WildcardType -> type.upperBounds.singleOrNull()?.let { serdePlanOf(it) } ?: throw ZError("Unsupported type: $type")
+    else -> throw ZError("Unsupported type: $type")
+}
+
+/** Casts a value handed to a plan, reporting a mismatch as a [ZError] rather than a [ClassCastException]. */
+private inline fun <reified V> checkedAs(value: Any?): V =
+    value as? V ?: throw ZError("Expected a ${V::class.java.simpleName}, got ${value?.javaClass?.name ?: "null"}.")
+
+internal object BooleanPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeBoolean(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readBoolean()
+}
+
+internal object BytePlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeByte(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readByte()
+}
+
+internal object ShortPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeShort(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readShort()
+}
+
+internal object IntPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeInt(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readInt()
+}
+
+internal object LongPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeLong(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readLong()
+}
+
+internal object FloatPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeFloat(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readFloat()
+}
+
+internal object DoublePlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeDouble(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readDouble()
+}
+
+internal object StringPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeString(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readString()
+}
+
+internal object BytesPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeBytes(checkedAs<ByteArray>(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readBytes()
+}
+
+internal object IntArrayPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeIntArray(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readIntArray()
+}
+
+internal object LongArrayPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeLongArray(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readLongArray()
+}
+
+internal object FloatArrayPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeFloatArray(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readFloatArray()
+}
+
+internal object DoubleArrayPlan : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) { writer.writeDoubleArray(checkedAs(value)) }
+    override fun read(reader: ZBytesReader): Any = reader.readDoubleArray()
+}
+
+internal class ListPlan(private val element: SerdePlan) : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) {
+        val list = checkedAs<List<*>>(value)
+        writer.writeSequenceLength(list.size)
+        for (e in list) {
+            element.write(writer, e)
+        }
+    }
+
+    override fun read(reader: ZBytesReader): Any {
+        val size = reader.readSequenceLength()
+        val list = ArrayList<Any>(size)
+        repeat(size) { list.add(element.read(reader)) }
+        return list
+    }
+}
+
+internal class MapPlan(private val key: SerdePlan, private val value: SerdePlan) : SerdePlan() {
+    override fun write(writer: ZBytesWriter, value: Any?) {
+        val map = checkedAs<Map<*, *>>(value)
+        writer.writeSequenceLength(map.size)
+        for ((k, v) in map) {
+            key.write(writer, k)
+            this.value.write(writer, v)
+        }
+    }
+
+    override fun read(reader: ZBytesReader): Any {
+        val size = reader.readSequenceLength()
+        val map = LinkedHashMap<Any, Any>(size * 4 / 3 + 1)
+        repeat(size) { map[key.read(reader)] = value.read(reader) }
+        return map
+    }
+}
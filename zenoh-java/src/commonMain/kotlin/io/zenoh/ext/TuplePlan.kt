@@ -0,0 +1,194 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.ext
+
+import com.google.common.reflect.TypeToken
+import io.zenoh.exceptions.ZError
+import java.lang.invoke.LambdaMetafactory
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.reflect.Constructor
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+import java.lang.reflect.Type
+import java.util.function.Function
+
+/**
+ * The plan of a Java record or a Kotlin data class (`Pair` and `Triple` included), encoded as
+ * the Zenoh tuple of its components: each component in declaration order, with nothing in
+ * between — the encoding of the same tuple in every Zenoh binding. A record without components
+ * is rejected, as it would encode to no bytes.
+ *
+ * The accessors are bound once, when the plan is compiled: each getter is spun into a
+ * [Function] by [LambdaMetafactory], so the JIT sees an ordinary interface call it can inline,
+ * and the canonical constructor becomes a spreading [MethodHandle]. Where those are missing —
+ * Android has no [LambdaMetafactory] and only offers `privateLookupIn` from API 33 — the
+ * accessors fall back to plain reflection.
+ */
+internal class TuplePlan private constructor(
+    private val getters: Array<Function<Any, Any?>>,
+    private val plans: Array<SerdePlan>,
+    private val constructor: Function<Array<Any?>, Any>,
+) : SerdePlan() {
+
+    override fun write(writer: ZBytesWriter, value: Any?) {
+        if (value == null) throw ZError("Expected a value, got null.")
+        for (i in getters.indices) {
+            plans[i].write(writer, getters[i].apply(value))
+        }
+    }
+
+    override fun read(reader: ZBytesReader): Any {
+        val args = arrayOfNulls<Any>(plans.size)
+        for (i in plans.indices) {
+            args[i] = plans[i].read(reader)
+        }
+        return constructor.apply(args)
+    }
+
+    companion object {
+
+        // Class.isRecord and Class.getRecordComponents appeared with JDK 16, after the JDK this SDK targets.
+        private val isRecord: Method? = runCatching { Class::class.java.getMethod("isRecord") }.getOrNull()
+        private val getRecordComponents: Method? =
+            runCatching { Class::class.java.getMethod("getRecordComponents") }.getOrNull()
+
+        /**
+         * Compiles the plan of [raw] if it is a record or a data class, `null` otherwise. [type] is
+         * [raw] itself or a parameterization of it (`Pair<String, Int>`), against which generic
+         * component types are resolved.
+         */
+        fun of(raw: Class<*>, type: Type): TuplePlan? {
+            val (accessors, constructor) = recordShape(raw) ?: dataClassShape(raw) ?: return null
+            // A tuple of nothing encodes to no bytes: a sequence of them would have to trust its
+            // length, which the reader bounds by the bytes left (see ZBytesReader.readSequenceLength).
+            if (accessors.isEmpty()) throw ZError("Unsupported type: ${raw.name}, a record without components.")
+            val token = TypeToken.of(type)
+            val plans = Array(accessors.size) { serdePlanOf(token.resolveType(accessors[it].genericReturnType).type) }
+            try {
+                val lookup = lookupIn(raw)
+                val handle = lookup.unreflectConstructor(constructor)
+                    .asSpreader(Array<Any?>::class.java, accessors.size)
+                    .asType(MethodType.methodType(Any::class.java, Array<Any?>::class.java))
+                return TuplePlan(
+                    Array(accessors.size) { getterOf(lookup, lookup.unreflect(accessors[it])) },
+                    plans,
+                    Function { handle.invoke(it) as Any },
+                )
+            } catch (e: IllegalAccessException) {
+                throw ZError("Cannot access the components of ${raw.name}: ${e.message}")
+            } catch (e: LinkageError) {
+                return TuplePlan(
+                    Array(accessors.size) { reflectiveGetterOf(accessors[it]) },
+                    plans,
+                    reflectiveConstructorOf(constructor),
+                )
+            }
+        }
+
+        /** The component accessors and canonical constructor of a record. */
+        private fun recordShape(raw: Class<*>): Pair<List<Method>, Constructor<*>>? {
+            if (isRecord?.invoke(raw) != true) return null
+            val components = getRecordComponents!!.invoke(raw) as Array<*>
+            val accessors = components.map { it!!.javaClass.getMethod("getAccessor").invoke(it) as Method }
+            return accessors to raw.getDeclaredConstructor(*accessors.map { it.returnType }.toTypedArray())
+        }
+
+        /**
+         * The `componentN` functions and primary constructor of a Kotlin data class. Any Kotlin
+         * class may declare `componentN` operators, so a data class is recognized by what the
+         * compiler generates for it alone: a `copy` taking exactly the types of its
+         * `component1 ... componentN`, backed by the synthetic static `copy$default` that fills
+         * in its default arguments, and a constructor taking those same types.
+         */
+        private fun dataClassShape(raw: Class<*>): Pair<List<Method>, Constructor<*>>? {
+            if (!raw.isAnnotationPresent(Metadata::class.java)) return null
+            val accessors = generateSequence(1) { it + 1 }
+                .map { n -> raw.methods.firstOrNull { it.name == "component$n" && it.parameterCount == 0 } }
+                .takeWhile { it != null }
+                .filterNotNull()
+                .toList()
+            if (accessors.isEmpty()) return null
+            val componentTypes = accessors.map { it.returnType }.toTypedArray()
+            val copy = runCatching { raw.getMethod("copy", *componentTypes) }.getOrNull() ?: return null
+            if (Modifier.isStatic(copy.modifiers) || copy.returnType != raw) return null
+            val hasCopyDefault = raw.declaredMethods.any {
+                it.name == "copy\$default" && it.isSynthetic && Modifier.isStatic(it.modifiers)
+            }
+            if (!hasCopyDefault) return null
+            val constructor = runCatching { raw.getDeclaredConstructor(*componentTypes) }.getOrNull() ?: return null
+            return accessors to constructor
+        }
+
+        /** A lookup with private access to [raw] where the module system allows it. */
+        private fun lookupIn(raw: Class<*>): MethodHandles.Lookup = try {
+            MethodHandles.privateLookupIn(raw, MethodHandles.lookup())
+        } catch (e: IllegalAccessException) {
+            MethodHandles.lookup()
+        }
+
+        /**
+         * Spins [getter] into a [Function]. Falls back to invoking the handle where the lookup
+         * lacks the access [LambdaMetafactory] requires. A missing [LambdaMetafactory] is left to
+         * [of], which then binds every accessor reflectively.
+         */
+        private fun getterOf(lookup: MethodHandles.Lookup, getter: MethodHandle): Function<Any, Any?> = try {
+            val site = LambdaMetafactory.metafactory(
+                lookup,
+                "apply",
+                MethodType.methodType(Function::class.java),
+                MethodType.methodType(Any::class.java, Any::class.java),
+                getter,
+                getter.type().wrap(),
+            )
+            @Suppress("UNCHECKED_CAST")
+            site.target.invoke() as Function<Any, Any?>
+        } catch (e: Exception) {
+            invokerOf(getter)
+        } catch (e: IllegalAccessError) {
+            invokerOf(getter)
+        }
+
+        private fun invokerOf(getter: MethodHandle): Function<Any, Any?> {
+            val generic = getter.asType(MethodType.methodType(Any::class.java, Any::class.java))
+            return Function { generic.invoke(it) }
+        }
+
+        private fun reflectiveGetterOf(getter: Method): Function<Any, Any?> {
+            runCatching { getter.isAccessible = true }
+            return Function {
+                try {
+                    getter.invoke(it)
+                } catch (e: InvocationTargetException) {
+                    throw e.cause ?: e
+                }
+            }
+        }
+
+        private fun reflectiveConstructorOf(constructor: Constructor<*>): Function<Array<Any?>, Any> {
+            runCatching { constructor.isAccessible = true }
+            return Function {
+                try {
+                    constructor.newInstance(*it)
+                } catch (e: InvocationTargetException) {
+                    throw e.cause ?: e
+                }
+            }
+        }
+    }
+}
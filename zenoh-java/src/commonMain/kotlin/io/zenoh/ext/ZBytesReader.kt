@@ -0,0 +1,212 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.ext
+
+import io.zenoh.bytes.IntoZBytes
+import io.zenoh.exceptions.ZError
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * Streaming Zenoh deserializer.
+ *
+ * Reads values one at a time out of a payload in the Zenoh serialization format (see
+ * [ZBytesWriter]), so large sequences can be consumed element by element instead of being
+ * deserialized as a whole into a [List] or [Map] of boxed values.
+ *
+ * Example, equivalent to deserializing a `List<String>` with a [ZDeserializer]:
+ * ```java
+ * ZBytesReader reader = new ZBytesReader(zbytes);
+ * int count = reader.readSequenceLength();
+ * for (int i = 0; i < count; i++) {
+ *     process(reader.readString());
+ * }
+ * assert reader.isDone();
+ * ```
+ *
+ * Reading past the end of the payload, or reading malformed data, throws a [ZError]. A reader
+ * is not thread-safe.
+ *
+ * @param zbytes The payload to read.
+ * @see ZBytesWriter
+ */
+class ZBytesReader(zbytes: IntoZBytes) {
+
+    private val buffer: ByteArray = zbytes.into().toBytes()
+
+    private var position = 0
+
+    /** The number of bytes left to read. */
+    fun remaining(): Int = buffer.size - position
+
+    /** Whether the whole payload has been read. */
+    fun isDone(): Boolean = position == buffer.size
+
+    @Throws(ZError::class)
+    fun readBoolean(): Boolean = when (val b = readByte().toInt()) {
+        0 -> false
+        1 -> true
+        else -> throw ZError("Invalid boolean value: $b.")
+    }
+
+    @Throws(ZError::class)
+    fun readByte(): Byte {
+        ensureAvailable(1)
+        return buffer[position++]
+    }
+
+    @Throws(ZError::class)
+    fun readShort(): Short {
+        ensureAvailable(2)
+        return getLittleEndian(2).toShort()
+    }
+
+    @Throws(ZError::class)
+    fun readInt(): Int {
+        ensureAvailable(4)
+        return getLittleEndian(4).toInt()
+    }
+
+    @Throws(ZError::class)
+    fun readLong(): Long {
+        ensureAvailable(8)
+        return getLittleEndian(8)
+    }
+
+    @Throws(ZError::class)
+    fun readFloat(): Float = Float.fromBits(readInt())
+
+    @Throws(ZError::class)
+    fun readDouble(): Double = Double.fromBits(readLong())
+
+    /** Reads a length-prefixed UTF-8 string. */
+    @Throws(ZError::class)
+    fun readString(): String {
+        val length = readLength()
+        val start = position
+        position += length
+        try {
+            return buffer.decodeToString(start, start + length, throwOnInvalidSequence = true)
+        } catch (e: CharacterCodingException) {
+            throw ZError("Invalid UTF-8 string.")
+        }
+    }
+
+    /** Reads a length-prefixed byte array. */
+    @Throws(ZError::class)
+    fun readBytes(): ByteArray {
+        val length = readLength()
+        val start = position
+        position += length
+        return buffer.copyOfRange(start, start + length)
+    }
+
+    /**
+     * Reads a sequence of [Int]s — the encoding of a `List<Integer>` — into an array, in one
+     * bulk little-endian copy, without boxing.
+     */
+    @Throws(ZError::class)
+    fun readIntArray(): IntArray {
+        val size = readSequenceLength()
+        val out = IntArray(size)
+        littleEndianView(size, 4).asIntBuffer().get(out)
+        return out
+    }
+
+    /** Reads a sequence of [Long]s into an array, like [readIntArray]. */
+    @Throws(ZError::class)
+    fun readLongArray(): LongArray {
+        val size = readSequenceLength()
+        val out = LongArray(size)
+        littleEndianView(size, 8).asLongBuffer().get(out)
+        return out
+    }
+
+    /** Reads a sequence of [Float]s into an array, like [readIntArray]. */
+    @Throws(ZError::class)
+    fun readFloatArray(): FloatArray {
+        val size = readSequenceLength()
+        val out = FloatArray(size)
+        littleEndianView(size, 4).asFloatBuffer().get(out)
+        return out
+    }
+
+    /** Reads a sequence of [Double]s into an array, like [readIntArray]. */
+    @Throws(ZError::class)
+    fun readDoubleArray(): DoubleArray {
+        val size = readSequenceLength()
+        val out = DoubleArray(size)
+        littleEndianView(size, 8).asDoubleBuffer().get(out)
+        return out
+    }
+
+    /**
+     * Reads the element count of a sequence (a [List]) or the entry count of a [Map], whose
+     * elements, or keys and values, are then read in turn.
+     */
+    @Throws(ZError::class)
+    fun readSequenceLength(): Int {
+        val length = readVarInt()
+        // Every element takes at least one byte, records without components being unsupported:
+        // a larger count cannot be genuine.
+        if (length > remaining()) throw ZError("Sequence length $length exceeds the remaining ${remaining()} bytes.")
+        return length.toInt()
+    }
+
+    /** Reads a length and checks that many bytes are left to read. */
+    private fun readLength(): Int {
+        val length = readVarInt()
+        if (length > remaining()) throw ZError("Length $length exceeds the remaining ${remaining()} bytes.")
+        return length.toInt()
+    }
+
+    private fun readVarInt(): Long {
+        var result = 0L
+        var shift = 0
+        while (true) {
+            val b = readByte().toInt()
+            if (shift == 63 && (b and 0x7F) > 1) throw ZError("Variable-length integer overflow.")
+            result = result or ((b and 0x7F).toLong() shl shift)
+            if (b and 0x80 == 0) return result
+            shift += 7
+            if (shift > 63) throw ZError("Variable-length integer overflow.")
+        }
+    }
+
+    private fun getLittleEndian(size: Int): Long {
+        var value = 0L
+        for (i in 0 until size) {
+            value = value or ((buffer[position++].toLong() and 0xFF) shl (8 * i))
+        }
+        return value
+    }
+
+    /**
+     * A little-endian view of the next [count] elements of [width] bytes, which are consumed.
+     */
+    private fun littleEndianView(count: Int, width: Int): ByteBuffer {
+        val length = count.toLong() * width
+        if (length > remaining()) throw ZError("Not enough bytes to read: $length needed, ${remaining()} left.")
+        val view = ByteBuffer.wrap(buffer, position, length.toInt()).slice().order(ByteOrder.LITTLE_ENDIAN)
+        position += length.toInt()
+        return view
+    }
+
+    /** Checks that [count] more bytes are left to read. */
+    private fun ensureAvailable(count: Int) {
+        if (count > remaining()) throw ZError("Not enough bytes to read: $count needed, ${remaining()} left.")
+    }
+}
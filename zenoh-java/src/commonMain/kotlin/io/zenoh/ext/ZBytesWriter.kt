@@ -0,0 +1,194 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.ext
+
+import io.zenoh.bytes.ZBytes
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * Streaming Zenoh serializer.
+ *
+ * Appends values one at a time in the Zenoh serialization format — the one produced by
+ * [ZSerializer] and understood across the Zenoh ecosystem — so large payloads can be produced
+ * incrementally, without first building them as a [List] or [Map] of boxed values:
+ * - [Boolean]s take one byte, and fixed-size numbers their size, in little-endian order;
+ * - a [String] is its UTF-8 bytes, and a [ByteArray] its content, both preceded by their length;
+ * - a [List] is its element count ([writeSequenceLength]) followed by its elements — primitive
+ *   arrays ([writeDoubleArray], ...) are written the same way, in bulk — and a [Map]
+ *   its entry count followed by each key and value in turn;
+ * - a tuple is its fields in order, with nothing in between.
+ *
+ * Lengths are written as unsigned LEB128 variable-length integers.
+ *
+ * Example, equivalent to serializing a `List<String>` with a [ZSerializer]:
+ * ```java
+ * ZBytesWriter writer = new ZBytesWriter();
+ * writer.writeSequenceLength(names.size());
+ * for (String name : names) {
+ *     writer.writeString(name);
+ * }
+ * ZBytes zbytes = writer.toZBytes();
+ * ```
+ *
+ * A writer is not thread-safe.
+ *
+ * @param initialCapacity The initial capacity of the writer's buffer, in bytes; it grows as needed.
+ * @see ZBytesReader
+ */
+class ZBytesWriter @JvmOverloads constructor(private val initialCapacity: Int = 64) {
+
+    init {
+        require(initialCapacity >= 0) { "initialCapacity must not be negative." }
+    }
+
+    private var buffer = ByteArray(initialCapacity)
+
+    private var position = 0
+
+    /** The number of bytes written so far. */
+    fun size(): Int = position
+
+    fun writeBoolean(value: Boolean) = apply { writeByte(if (value) 1 else 0) }
+
+    fun writeByte(value: Byte) = apply {
+        ensureCapacity(1)
+        buffer[position++] = value
+    }
+
+    fun writeShort(value: Short) = apply {
+        ensureCapacity(2)
+        putLittleEndian(value.toLong(), 2)
+    }
+
+    fun writeInt(value: Int) = apply {
+        ensureCapacity(4)
+        putLittleEndian(value.toLong(), 4)
+    }
+
+    fun writeLong(value: Long) = apply {
+        ensureCapacity(8)
+        putLittleEndian(value, 8)
+    }
+
+    fun writeFloat(value: Float) = writeInt(value.toRawBits())
+
+    fun writeDouble(value: Double) = writeLong(value.toRawBits())
+
+    /** Writes [value] as its UTF-8 bytes, preceded by their length. */
+    fun writeString(value: String) = writeBytes(value.encodeToByteArray())
+
+    /** Writes the content of [value], preceded by its length. */
+    fun writeBytes(value: ByteArray) = apply {
+        writeLength(value.size)
+        ensureCapacity(value.size)
+        value.copyInto(buffer, position)
+        position += value.size
+    }
+
+    /**
+     * Writes [values] as a sequence of [Int]s — the encoding of a `List<Integer>` — in one bulk
+     * little-endian copy, without boxing.
+     */
+    fun writeIntArray(values: IntArray) = apply {
+        writeLength(values.size)
+        val n = values.size * 4L
+        ensureCapacity(n)
+        littleEndianView(n).asIntBuffer().put(values)
+        position += n.toInt()
+    }
+
+    /** Writes [values] as a sequence of [Long]s, like [writeIntArray]. */
+    fun writeLongArray(values: LongArray) = apply {
+        writeLength(values.size)
+        val n = values.size * 8L
+        ensureCapacity(n)
+        littleEndianView(n).asLongBuffer().put(values)
+        position += n.toInt()
+    }
+
+    /** Writes [values] as a sequence of [Float]s, like [writeIntArray]. */
+    fun writeFloatArray(values: FloatArray) = apply {
+        writeLength(values.size)
+        val n = values.size * 4L
+        ensureCapacity(n)
+        littleEndianView(n).asFloatBuffer().put(values)
+        position += n.toInt()
+    }
+
+    /** Writes [values] as a sequence of [Double]s, like [writeIntArray]. */
+    fun writeDoubleArray(values: DoubleArray) = apply {
+        writeLength(values.size)
+        val n = values.size * 8L
+        ensureCapacity(n)
+        littleEndianView(n).asDoubleBuffer().put(values)
+        position += n.toInt()
+    }
+
+    /**
+     * Writes the element count of a sequence (a [List]) or the entry count of a [Map]. The
+     * [length] elements, or keys and values, are then written in turn.
+     */
+    fun writeSequenceLength(length: Int) = apply { writeLength(length) }
+
+    /**
+     * Returns the bytes written so far as a [ZBytes] and resets the writer, which can then
+     * be reused for the next payload.
+     */
+    fun toZBytes(): ZBytes {
+        val bytes = if (position == buffer.size) {
+            buffer.also { buffer = ByteArray(initialCapacity) }
+        } else {
+            buffer.copyOf(position)
+        }
+        position = 0
+        return ZBytes.from(bytes)
+    }
+
+    /** Discards the bytes written so far, keeping the buffer for the next payload. */
+    fun reset() = apply { position = 0 }
+
+    private fun writeLength(length: Int) {
+        require(length >= 0) { "A length must not be negative." }
+        ensureCapacity(5)
+        var v = length
+        while (v >= 0x80) {
+            buffer[position++] = ((v and 0x7F) or 0x80).toByte()
+            v = v ushr 7
+        }
+        buffer[position++] = v.toByte()
+    }
+
+    private fun putLittleEndian(value: Long, size: Int) {
+        for (i in 0 until size) {
+            buffer[position++] = (value ushr (8 * i)).toByte()
+        }
+    }
+
+    /** A little-endian view of the next [length] bytes of the buffer, made room for beforehand. */
+    private fun littleEndianView(length: Long): ByteBuffer =
+        ByteBuffer.wrap(buffer, position, length.toInt()).slice().order(ByteOrder.LITTLE_ENDIAN)
+
+    private fun ensureCapacity(additional: Int) = ensureCapacity(additional.toLong())
+
+    /** Makes room for [additional] more bytes, growing the buffer at least twofold. */
+    private fun ensureCapacity(additional: Long) {
+        val required = position + additional
+        if (required > Int.MAX_VALUE - 8) throw OutOfMemoryError("Serialized payload too large.")
+        if (required <= buffer.size) return
+        buffer = buffer.copyOf(maxOf(required.toInt(), minOf(buffer.size * 2L, Int.MAX_VALUE - 8L).toInt(), 16))
+    }
+}
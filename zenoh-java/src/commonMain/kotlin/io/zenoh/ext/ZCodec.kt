@@ -0,0 +1,81 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.ext
+
+import com.google.common.reflect.TypeToken
+import io.zenoh.bytes.IntoZBytes
+import io.zenoh.bytes.ZBytes
+import java.util.stream.Stream
+
+/**
+ * Zenoh codec: a [ZSerializer] and a [ZDeserializer] for the same type [T] in one reusable object.
+ *
+ * The codec plan of [T] is resolved once, on first use, and kept for the lifetime of the codec,
+ * so a codec held in a field serializes and deserializes each message without any reflection.
+ * It supports the same types as [ZSerializer], with the same wire format, and is thread-safe.
+ *
+ * Example:
+ * ```java
+ * private static final ZCodec<Map<String, List<Double>>> TELEMETRY = new ZCodec<>() {};
+ *
+ * ZBytes zbytes = TELEMETRY.serialize(readings);
+ * Map<String, List<Double>> output = TELEMETRY.deserialize(zbytes);
+ * ```
+ *
+ * @param T The type to be serialized and deserialized.
+ * @see ZSerializer
+ * @see ZDeserializer
+ */
+abstract class ZCodec<T>: TypeToken<T>() {
+
+    /** The serialization plan of [T], resolved on first use (see [serdePlanOf]). */
+    private val plan by lazy { serdePlanOf(this.type) }
+
+    /**
+     * Serialize [t] into a [ZBytes].
+     */
+    fun serialize(t: T): ZBytes {
+        return plan.serialize(t)
+    }
+
+    /**
+     * Deserialize the [zbytes] into an element of type [T].
+     */
+    fun deserialize(zbytes: IntoZBytes): T {
+        @Suppress("UNCHECKED_CAST")
+        return plan.deserialize(zbytes) as T
+    }
+
+    /**
+     * Iterate over the [zbytes] of a sequence of elements of type [T] — the serialization of a
+     * `List<T>` — decoding each element on demand rather than materializing the whole list.
+     *
+     * The payload is only checked to be well formed as far as it has been read: an error may
+     * surface from [Iterator.next].
+     */
+    fun iterate(zbytes: IntoZBytes): Iterator<T> {
+        @Suppress("UNCHECKED_CAST")
+        return plan.iterate(zbytes) as Iterator<T>
+    }
+
+    /**
+     * Stream the [zbytes] of a sequence of elements of type [T], decoded on demand (see [iterate]).
+     */
+    fun stream(zbytes: IntoZBytes): Stream<T> {
+        @Suppress("UNCHECKED_CAST")
+        return plan.stream(zbytes) as Stream<T>
+    }
+}
@@ -17,8 +17,7 @@ package io.zenoh.ext
 import com.google.common.reflect.TypeToken
 import io.zenoh.bytes.IntoZBytes
 import io.zenoh.bytes.ZBytes
-import io.zenoh.exceptions.throwZError0
-import io.zenoh.jni.bytes.SerializationCodec
+import java.util.stream.Stream
 
 /**
  * Zenoh deserializer.
@@ -37,8 +36,16 @@ import io.zenoh.jni.bytes.SerializationCodec
  * - [String]
  * - [ByteArray]
  * - [Map]
+ * - [IntArray], [LongArray], [FloatArray] and [DoubleArray] (`int[]`, `long[]`, `float[]` and `double[]`)
  *
  * For List and Map, the inner types can be a combination of the above types, including themselves.
+ * A primitive array is encoded as the list of its elements (a `double[]` as a `List<Double>`), without
+ * boxing them, so either side may use either form.
+ *
+ * Java records and Kotlin data classes (including `Pair` and `Triple`) whose components are supported
+ * types are encoded as tuples: their components in declaration order, as Zenoh bindings in other
+ * languages encode tuples and structures of the same shape. A record without components, which would
+ * encode to no bytes at all, is not supported.
  *
  * Due to Java's type erasure, an actual implementation of this abstract class needs to be created (see the examples below).
  *
@@ -94,6 +101,15 @@ import io.zenoh.jni.bytes.SerializationCodec
  * assert input.equals(output);
  * ```
  *
+ * Large sequences can be scanned element by element, without materializing the list:
+ * ```java
+ * ZDeserializer<Double> deserializer = new ZDeserializer<>() {};
+ * double max = deserializer.stream(reply.getResult().getPayload())
+ *         .mapToDouble(Double::doubleValue)
+ *         .max()
+ *         .orElse(Double.NaN);
+ * ```
+ *
  * For more examples, see the ZBytesExamples in the examples.
  *
  * @param T The deserialization type.
@@ -102,11 +118,34 @@ import io.zenoh.jni.bytes.SerializationCodec
  */
 abstract class ZDeserializer<T>: TypeToken<T>() {
 
+    /** The serialization plan of [T], resolved on first use (see [serdePlanOf]). */
+    private val plan by lazy { serdePlanOf(this.type) }
+
     /**
      * Deserialize the [zbytes] into an element of type [T].
      */
     fun deserialize(zbytes: IntoZBytes): T {
         @Suppress("UNCHECKED_CAST")
-        return SerializationCodec.deserialize(zbytes.into().bytes, serdeTypeOfJava(this.type), throwZError0) as T
+        return plan.deserialize(zbytes) as T
+    }
+
+    /**
+     * Iterate over the [zbytes] of a sequence of elements of type [T] — the serialization of a
+     * `List<T>` — decoding each element on demand rather than materializing the whole list.
+     *
+     * The payload is only checked to be well formed as far as it has been read: an error may
+     * surface from [Iterator.next].
+     */
+    fun iterate(zbytes: IntoZBytes): Iterator<T> {
+        @Suppress("UNCHECKED_CAST")
+        return plan.iterate(zbytes) as Iterator<T>
+    }
+
+    /**
+     * Stream the [zbytes] of a sequence of elements of type [T], decoded on demand (see [iterate]).
+     */
+    fun stream(zbytes: IntoZBytes): Stream<T> {
+        @Suppress("UNCHECKED_CAST")
+        return plan.stream(zbytes) as Stream<T>
     }
 }
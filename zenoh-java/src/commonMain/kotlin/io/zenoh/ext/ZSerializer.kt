@@ -16,8 +16,6 @@ package io.zenoh.ext
 
 import com.google.common.reflect.TypeToken
 import io.zenoh.bytes.ZBytes
-import io.zenoh.exceptions.throwZError0
-import io.zenoh.jni.bytes.SerializationCodec
 
 /**
  * Zenoh serializer.
@@ -36,8 +34,16 @@ import io.zenoh.jni.bytes.SerializationCodec
  * - [String]
  * - [ByteArray]
  * - [Map]
+ * - [IntArray], [LongArray], [FloatArray] and [DoubleArray] (`int[]`, `long[]`, `float[]` and `double[]`)
  *
  * For List and Map, the inner types can be a combination of the above types, including themselves.
+ * A primitive array is encoded as the list of its elements (a `double[]` as a `List<Double>`), without
+ * boxing them, so either side may use either form.
+ *
+ * Java records and Kotlin data classes (including `Pair` and `Triple`) whose components are supported
+ * types are encoded as tuples: their components in declaration order, as Zenoh bindings in other
+ * languages encode tuples and structures of the same shape. A record without components, which would
+ * encode to no bytes at all, is not supported.
  *
  * Due to Java's type erasure, an actual implementation of this abstract class needs to be created (see the examples below).
  *
@@ -101,10 +107,13 @@ import io.zenoh.jni.bytes.SerializationCodec
  */
 abstract class ZSerializer<T>: TypeToken<T>() {
 
+    /** The serialization plan of [T], resolved on first use (see [serdePlanOf]). */
+    private val plan by lazy { serdePlanOf(this.type) }
+
     /**
      * Serialize [t] into a [ZBytes].
      */
     fun serialize(t: T): ZBytes {
-        return ZBytes.from(SerializationCodec.serialize(t as Any, serdeTypeOfJava(this.type), throwZError0))
+        return plan.serialize(t)
     }
 }
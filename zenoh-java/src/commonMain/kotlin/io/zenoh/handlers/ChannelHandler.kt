@@ -0,0 +1,72 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.handlers
+
+import io.zenoh.ZenohType
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.ReceiveChannel
+import kotlinx.coroutines.channels.trySendBlocking
+
+/**
+ * Channel handler
+ *
+ * Implementation of a [Handler] with a coroutines [ReceiveChannel] receiver, for Kotlin consumers: the
+ * elements are received by suspending rather than by parking a thread, so that any number of consumers
+ * may share a few threads. The channel is closed once no more elements of type [T] will be received
+ * (see [onClose]).
+ *
+ * With [BufferOverflow.SUSPEND], an element sent while the channel is full blocks the Zenoh callback
+ * thread delivering it until the consumer makes room; the other policies drop an element instead. A
+ * dropped element that holds resources — a [io.zenoh.query.Query] — is closed, so that the querier is
+ * not left waiting for a reply that will never come.
+ *
+ * Requires `org.jetbrains.kotlinx:kotlinx-coroutines-core`, an optional dependency of Zenoh that the
+ * application adds itself.
+ *
+ * Example:
+ * ```kotlin
+ * val subscriber = session.declareSubscriber(keyExpr, ChannelHandler<Sample>(capacity = 64))
+ * for (sample in subscriber.receiver) {
+ *     println(sample)
+ * }
+ * ```
+ *
+ * @param T a [ZenohType]
+ * @param capacity The capacity of the channel, as for [Channel].
+ * @param onBufferOverflow What happens when an element is received while the channel is full.
+ */
+class ChannelHandler<T: ZenohType> @JvmOverloads constructor(
+    capacity: Int = Channel.BUFFERED,
+    onBufferOverflow: BufferOverflow = BufferOverflow.SUSPEND,
+) : Handler<T, ReceiveChannel<T>> {
+
+    // Every element the channel drops, does not take once closed or still holds when cancelled is
+    // handed to its onUndeliveredElement: the single place where dropped elements are released.
+    private val channel = Channel<T>(capacity, onBufferOverflow) { discard(it) }
+
+    override fun handle(t: T) {
+        channel.trySendBlocking(t)
+    }
+
+    override fun receiver(): ReceiveChannel<T> {
+        return channel
+    }
+
+    override fun onClose() {
+        channel.close()
+    }
+}
@@ -0,0 +1,27 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.handlers
+
+import io.zenoh.ZenohType
+
+/**
+ * Releases an element that a handler drops instead of delivering. A dropped element that holds
+ * resources — a [io.zenoh.query.Query] — is closed, so that the querier is not left waiting for a
+ * reply that will never come; other elements are left to the garbage collector.
+ */
+internal fun discard(t: ZenohType) {
+    (t as? AutoCloseable)?.close()
+}
@@ -0,0 +1,235 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.handlers
+
+import io.zenoh.ZenohType
+import java.util.concurrent.Flow
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.locks.ReentrantLock
+
+/**
+ * Flow handler
+ *
+ * Implementation of a [Handler] with a [Flow.Publisher] receiver, for reactive pipelines: elements are
+ * delivered to the publisher's subscriber as it requests them (see [Flow.Subscription.request]), and
+ * buffered meanwhile in a buffer of bounded [capacity]; an element received while the buffer is full is
+ * dealt with according to the [overflowPolicy]. The subscriber completes once no more elements of type
+ * [T] will be received (see [onClose]) and the buffered ones are delivered.
+ *
+ * The publisher accepts a single subscriber; elements received before it subscribes are buffered. A
+ * dropped element that holds resources — a [io.zenoh.query.Query] — is closed, so that the querier is not
+ * left waiting for a reply that will never come.
+ *
+ * Example, for a subscriber:
+ * ```java
+ * FlowHandler<Sample> handler = new FlowHandler<>(1024, OverflowPolicy.DROP_OLDEST);
+ * Flow.Publisher<Sample> samples = session.declareSubscriber(keyExpr, handler).getReceiver();
+ * samples.subscribe(new MySubscriber());
+ * ```
+ * The same goes for the queries of a queryable, or the replies of a get.
+ *
+ * @param T a [ZenohType]
+ * @param capacity The maximum number of elements buffered.
+ * @param overflowPolicy The [OverflowPolicy] applied when the buffer is full.
+ */
+class FlowHandler<T: ZenohType> @JvmOverloads constructor(
+    val capacity: Int = DEFAULT_CAPACITY,
+    val overflowPolicy: OverflowPolicy = OverflowPolicy.DROP_OLDEST,
+) : Handler<T, Flow.Publisher<T>> {
+
+    companion object {
+        const val DEFAULT_CAPACITY = 256
+    }
+
+    init {
+        require(capacity >= 1) { "capacity must be at least 1." }
+    }
+
+    private val lock = ReentrantLock()
+
+    private val notFull = lock.newCondition()
+
+    // Guarded by the lock.
+    private val buffer = ArrayDeque<T>(capacity)
+    private var subscriber: Flow.Subscriber<in T>? = null
+    private var subscribed = false
+    private var demand = 0L
+    private var closed = false
+    private var cancelled = false
+    private var terminated = false
+    private var error: Throwable? = null
+
+    // Serializes the deliveries to the subscriber: whoever brings it from 0 delivers until it is back to 0.
+    private val wip = AtomicInteger()
+
+    private val publisher = Flow.Publisher<T> { subscribe(it) }
+
+    private val subscription = object : Flow.Subscription {
+        override fun request(n: Long) {
+            lock.lock()
+            try {
+                if (n <= 0) {
+                    if (!cancelled && error == null) error = IllegalArgumentException("Non-positive request: $n.")
+                } else {
+                    demand = if (demand > Long.MAX_VALUE - n) Long.MAX_VALUE else demand + n
+                }
+            } finally {
+                lock.unlock()
+            }
+            drain()
+        }
+
+        override fun cancel() {
+            cancelAndDiscard()
+        }
+    }
+
+    override fun handle(t: T) {
+        var dropped: T? = null
+        lock.lock()
+        try {
+            if (cancelled) {
+                dropped = t
+            } else if (buffer.size < capacity) {
+                buffer.addLast(t)
+            } else when (overflowPolicy) {
+                OverflowPolicy.DROP_OLDEST -> {
+                    dropped = buffer.removeFirst()
+                    buffer.addLast(t)
+                }
+                OverflowPolicy.DROP_NEWEST -> dropped = t
+                OverflowPolicy.BLOCK -> {
+                    while (buffer.size >= capacity && !cancelled) notFull.awaitUninterruptibly()
+                    if (cancelled) dropped = t else buffer.addLast(t)
+                }
+            }
+        } finally {
+            lock.unlock()
+        }
+        dropped?.let { discard(it) }
+        drain()
+    }
+
+    override fun receiver(): Flow.Publisher<T> {
+        return publisher
+    }
+
+    override fun onClose() {
+        lock.lock()
+        try {
+            closed = true
+        } finally {
+            lock.unlock()
+        }
+        drain()
+    }
+
+    private fun subscribe(s: Flow.Subscriber<in T>) {
+        lock.lock()
+        val accepted = try {
+            (subscriber == null && !cancelled).also { if (it) subscriber = s }
+        } finally {
+            lock.unlock()
+        }
+        if (!accepted) {
+            s.onSubscribe(object : Flow.Subscription {
+                override fun request(n: Long) {}
+                override fun cancel() {}
+            })
+            s.onError(IllegalStateException("A FlowHandler publisher accepts a single subscriber."))
+            return
+        }
+        s.onSubscribe(subscription)
+        // Nothing is delivered before onSubscribe returns, even if it requested elements.
+        lock.lock()
+        try {
+            subscribed = true
+        } finally {
+            lock.unlock()
+        }
+        drain()
+    }
+
+    private fun drain() {
+        if (wip.getAndIncrement() != 0) return
+        var missed = 1
+        while (true) {
+            while (true) {
+                var s: Flow.Subscriber<in T>? = null
+                var next: T? = null
+                var failure: Throwable? = null
+                var complete = false
+                lock.lock()
+                try {
+                    if (subscribed && !cancelled && !terminated) s = subscriber
+                    if (s != null) {
+                        if (error != null) {
+                            failure = error
+                            terminated = true
+                        } else if (demand > 0 && buffer.isNotEmpty()) {
+                            next = buffer.removeFirst()
+                            if (demand != Long.MAX_VALUE) demand--
+                            notFull.signal()
+                        } else if (closed && buffer.isEmpty()) {
+                            complete = true
+                            terminated = true
+                        }
+                    }
+                } finally {
+                    lock.unlock()
+                }
+                when {
+                    failure != null -> {
+                        cancelAndDiscard()
+                        s!!.onError(failure)
+                    }
+                    next != null -> try {
+                        s!!.onNext(next)
+                    } catch (e: Throwable) {
+                        // A subscriber may not throw (Reactive Streams §2.13): its subscription is cancelled.
+                        lock.lock()
+                        try {
+                            terminated = true
+                        } finally {
+                            lock.unlock()
+                        }
+                        cancelAndDiscard()
+                        s!!.onError(e)
+                    }
+                    complete -> s!!.onComplete()
+                }
+                if (next == null) break
+            }
+            missed = wip.addAndGet(-missed)
+            if (missed == 0) return
+        }
+    }
+
+    private fun cancelAndDiscard() {
+        val dropped: List<T>
+        lock.lock()
+        try {
+            cancelled = true
+            subscriber = null
+            dropped = buffer.toList()
+            buffer.clear()
+            notFull.signalAll()
+        } finally {
+            lock.unlock()
+        }
+        dropped.forEach { discard(it) }
+    }
+}
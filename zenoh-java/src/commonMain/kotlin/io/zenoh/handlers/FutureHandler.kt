@@ -0,0 +1,86 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.handlers
+
+import io.zenoh.ZenohType
+import io.zenoh.exceptions.ZError
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+
+/**
+ * Future handler
+ *
+ * Implementation of a [Handler] with a [CompletableFuture] receiver, completed with all the
+ * elements received, in order, once no more elements of type [T] will be received (see [onClose]).
+ *
+ * @param T a [ZenohType]
+ */
+internal class FutureHandler<T: ZenohType> : Handler<T, CompletableFuture<List<T>>> {
+
+    private val elements = ArrayList<T>()
+
+    private val future = CompletableFuture<List<T>>()
+
+    override fun handle(t: T) {
+        synchronized(elements) { elements.add(t) }
+    }
+
+    override fun receiver(): CompletableFuture<List<T>> {
+        return future
+    }
+
+    override fun onClose() {
+        future.complete(synchronized(elements) { Collections.unmodifiableList(elements) })
+    }
+}
+
+/**
+ * Callback future handler
+ *
+ * Implementation of a [Handler] passing the elements received to a [callback] as they arrive, with a
+ * [CompletableFuture] receiver completed once no more elements of type [T] will be received (see [onClose]).
+ *
+ * @param T a [ZenohType]
+ */
+internal class CallbackFutureHandler<T: ZenohType>(private val callback: Callback<T>) : Handler<T, CompletableFuture<Void?>> {
+
+    private val future = CompletableFuture<Void?>()
+
+    override fun handle(t: T) {
+        callback.run(t)
+    }
+
+    override fun receiver(): CompletableFuture<Void?> {
+        return future
+    }
+
+    override fun onClose() {
+        future.complete(null)
+    }
+}
+
+/**
+ * Starts an operation delivering to [handler] and returns the handler's future; an operation failing
+ * to start fails the future rather than throwing.
+ */
+internal inline fun <T: ZenohType, F: CompletableFuture<*>> startAsync(handler: Handler<T, F>, start: (Handler<T, F>) -> Unit): F {
+    try {
+        start(handler)
+    } catch (e: ZError) {
+        handler.receiver().completeExceptionally(e)
+    }
+    return handler.receiver()
+}
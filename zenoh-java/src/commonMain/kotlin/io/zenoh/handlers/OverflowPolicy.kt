@@ -0,0 +1,33 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.handlers
+
+/**
+ * What a bounded handler (see [FlowHandler]) does with an element received while its buffer is full.
+ */
+enum class OverflowPolicy {
+    /** The oldest buffered element is dropped to make room for the new one. */
+    DROP_OLDEST,
+
+    /** The new element is dropped. */
+    DROP_NEWEST,
+
+    /**
+     * The thread delivering the element — a Zenoh callback thread — blocks until the consumer makes
+     * room. Nothing is lost, but the delay propagates upstream to the network.
+     */
+    BLOCK,
+}
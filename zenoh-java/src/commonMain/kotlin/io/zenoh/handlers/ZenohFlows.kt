@@ -0,0 +1,112 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+@file:JvmName("ZenohFlows")
+
+package io.zenoh.handlers
+
+import io.zenoh.Session
+import io.zenoh.ZenohType
+import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.pubsub.SubscriberOptions
+import io.zenoh.query.GetOptions
+import io.zenoh.query.IntoSelector
+import io.zenoh.query.Querier
+import io.zenoh.query.Query
+import io.zenoh.query.QueryableOptions
+import io.zenoh.query.Reply
+import io.zenoh.sample.Sample
+import kotlinx.coroutines.channels.ProducerScope
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.channels.trySendBlocking
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.callbackFlow
+
+/*
+ * Cold [Flow]s of the elements Zenoh delivers, for Kotlin consumers. Each collection performs its own
+ * declaration or query, undeclared or abandoned when the collection ends. The elements are buffered as
+ * by [callbackFlow]; apply `buffer(capacity, onBufferOverflow)` to the flow to size the buffer or to
+ * drop elements rather than block the Zenoh callback thread when the collector falls behind.
+ *
+ * Requires `org.jetbrains.kotlinx:kotlinx-coroutines-core`, an optional dependency of Zenoh that the
+ * application adds itself.
+ */
+
+/** Passes the elements to a [ProducerScope], which is closed when no more of them will be received. */
+private class ProducerHandler<T: ZenohType>(private val scope: ProducerScope<T>) : Handler<T, Unit> {
+
+    override fun handle(t: T) {
+        // The channel of a callbackFlow has no onUndeliveredElement: an element it does not take is released here.
+        if (scope.trySendBlocking(t).isFailure) discard(t)
+    }
+
+    override fun receiver() {}
+
+    override fun onClose() {
+        scope.channel.close()
+    }
+}
+
+/**
+ * A [Flow] of the samples received on [keyExpr], by a subscriber declared when the flow is collected
+ * and undeclared when the collection ends.
+ *
+ * @param keyExpr The [KeyExpr] to subscribe to.
+ * @param options Optional [SubscriberOptions] to configure the subscriber.
+ */
+fun Session.subscriberFlow(keyExpr: KeyExpr, options: SubscriberOptions = SubscriberOptions()): Flow<Sample> =
+    callbackFlow {
+        val subscriber = declareSubscriber(keyExpr, ProducerHandler(this), options)
+        awaitClose { subscriber.close() }
+    }
+
+/**
+ * A [Flow] of the queries received on [keyExpr], by a queryable declared when the flow is collected
+ * and undeclared when the collection ends. A query received once the collection has ended is closed
+ * rather than left pending.
+ *
+ * @param keyExpr The [KeyExpr] of the queryable.
+ * @param options Optional [QueryableOptions] to configure the queryable.
+ */
+fun Session.queryableFlow(keyExpr: KeyExpr, options: QueryableOptions = QueryableOptions()): Flow<Query> =
+    callbackFlow {
+        val queryable = declareQueryable(keyExpr, ProducerHandler(this), options)
+        awaitClose { queryable.close() }
+    }
+
+/**
+ * A [Flow] of the replies to a get query, performed when the flow is collected; the flow completes
+ * once the query is over.
+ *
+ * @param selector The [io.zenoh.query.Selector] for the get query.
+ * @param options Optional [GetOptions] to configure the get query.
+ */
+fun Session.getFlow(selector: IntoSelector, options: GetOptions = GetOptions()): Flow<Reply> =
+    callbackFlow {
+        get(selector, ProducerHandler(this), options)
+        awaitClose()
+    }
+
+/**
+ * A [Flow] of the replies to a get query of this querier, performed when the flow is collected; the
+ * flow completes once the query is over.
+ *
+ * @param options Optional [Querier.GetOptions] to configure the get operation.
+ */
+fun Querier.getFlow(options: Querier.GetOptions = Querier.GetOptions()): Flow<Reply> =
+    callbackFlow {
+        get(ProducerHandler(this), options)
+        awaitClose()
+    }
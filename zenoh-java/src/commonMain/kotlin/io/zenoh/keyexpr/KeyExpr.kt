@@ -15,6 +15,7 @@
 package io.zenoh.keyexpr
 
 import io.zenoh.Session
+import io.zenoh.session.DeclarationRegistry
 import io.zenoh.session.SessionDeclaration
 import io.zenoh.exceptions.ZError
 import io.zenoh.exceptions.throwZError
@@ -70,6 +71,10 @@ class KeyExpr internal constructor(
     internal var handle: JniKeyExpr? = null,
 ) : AutoCloseable, IntoSelector, SessionDeclaration {
 
+    // Non-null only for a declared key expression, until it is undeclared.
+    @Volatile
+    internal var registration: DeclarationRegistry.Registration? = null
+
     /** Clone the native handle before passing it to a consuming Rust API. */
     internal fun cloneHandle(): JniKeyExpr? = handle?.newClone(throwZError0)
 
@@ -150,35 +155,53 @@ class KeyExpr internal constructor(
         }
     }
 
+    /** The chunks of this key expression, compiled on first match; a racing compile is harmless. */
+    @Volatile
+    private var compiled: KeyExprChunks? = null
+
+    internal val chunks: KeyExprChunks
+        get() = compiled ?: KeyExprChunks.compile(keyExprString).also { compiled = it }
+
     /**
      * Intersects operation. This method returns `True` if there exists at least one key that belongs to both sets
      * defined by `this` and `other`.
-     * Will return false as well if the key expression is not valid anymore.
+     *
+     * The key expression algebra ([intersects], [includes], [relationTo]) runs on the JVM over chunks
+     * compiled once per instance: no native crossing, so it suits hot routing and access-control paths.
      */
-    @Throws(ZError::class)
-    fun intersects(other: KeyExpr): Boolean = withHandle { h ->
-        other.handle?.let { h.intersects(it, throwZError0) }
-            ?: h.intersects(other.keyExprString, throwZError0)
-    }
+    fun intersects(other: KeyExpr): Boolean = chunks.intersects(other.chunks)
 
     /**
      * Includes operation. This method returns `true` when all the keys defined by `other` also belong to the set
      * defined by `this`.
-     * Will return false as well if the key expression is not valid anymore.
      */
-    @Throws(ZError::class)
-    fun includes(other: KeyExpr): Boolean = withHandle { h ->
-        other.handle?.let { h.includes(it, throwZError0) }
-            ?: h.includes(other.keyExprString, throwZError0)
-    }
+    fun includes(other: KeyExpr): Boolean = chunks.includes(other.chunks)
 
     /**
      * Returns the relation between 'this' and other from 'this''s point of view ([SetIntersectionLevel.INCLUDES]
      * signifies that self includes other). Note that this is slower than [intersects] and [includes],
      * so you should favor these methods for most applications.
      */
-    @Throws(ZError::class)
-    fun relationTo(other: KeyExpr): SetIntersectionLevel = withHandle { h ->
+    fun relationTo(other: KeyExpr): SetIntersectionLevel = when {
+        keyExprString == other.keyExprString -> SetIntersectionLevel.EQUALS
+        includes(other) -> SetIntersectionLevel.INCLUDES
+        intersects(other) -> SetIntersectionLevel.INTERSECTS
+        else -> SetIntersectionLevel.DISJOINT
+    }
+
+    // The native algebra, which the JVM one is checked against.
+
+    internal fun nativeIntersects(other: KeyExpr): Boolean = withHandle { h ->
+        other.handle?.let { h.intersects(it, throwZError0) }
+            ?: h.intersects(other.keyExprString, throwZError0)
+    }
+
+    internal fun nativeIncludes(other: KeyExpr): Boolean = withHandle { h ->
+        other.handle?.let { h.includes(it, throwZError0) }
+            ?: h.includes(other.keyExprString, throwZError0)
+    }
+
+    internal fun nativeRelationTo(other: KeyExpr): SetIntersectionLevel = withHandle { h ->
         val raw = other.handle?.let { h.relationTo(it, throwZError0) }
             ?: h.relationTo(other.keyExprString, throwZError0)
         SetIntersectionLevel.fromJni(raw)
@@ -233,6 +256,8 @@ class KeyExpr internal constructor(
      * operations on it, but without the inner optimizations.
      */
     override fun undeclare() {
+        registration?.remove()
+        registration = null
         handle?.close()
         handle = null
     }
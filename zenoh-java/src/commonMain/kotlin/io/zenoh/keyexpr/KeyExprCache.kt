@@ -0,0 +1,75 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.keyexpr
+
+/**
+ * An opt-in, bounded intern cache for the key expressions of received messages.
+ *
+ * Attached to a subscriber ([io.zenoh.pubsub.SubscriberOptions.keyExprCache]), a queryable
+ * ([io.zenoh.query.QueryableOptions.keyExprCache]) or a get
+ * ([io.zenoh.query.GetOptions.keyExprCache]), the cache makes every message delivered on a key
+ * it has recently seen carry the same [KeyExpr] instance — and the same key string — instead of
+ * a fresh one. Besides the allocation saved per message, the shared instance keeps the chunks
+ * [KeyExpr.intersects] / [KeyExpr.includes] compile on first use, so matching a received key
+ * against local key expressions costs no re-parse on a hot key.
+ *
+ * The cache is direct-mapped: a key lives in the slot its hash selects and evicts whichever key
+ * was there before, so lookups are a single array read and string comparison, and the footprint
+ * never exceeds [capacity] entries however many distinct keys arrive. One cache may be shared by
+ * several declarations (or a whole session) and is safe to use from their callback threads.
+ *
+ * Example:
+ * ```java
+ * KeyExprCache cache = new KeyExprCache();
+ * SubscriberOptions options = new SubscriberOptions();
+ * options.setKeyExprCache(cache);
+ * session.declareSubscriber(keyExpr, sample -> route(sample.getKeyExpr(), sample), options);
+ * ```
+ *
+ * @param capacity The number of slots, rounded up to a power of two.
+ */
+class KeyExprCache @JvmOverloads constructor(capacity: Int = DEFAULT_CAPACITY) {
+
+    companion object {
+        const val DEFAULT_CAPACITY = 1024
+        const val MAX_CAPACITY = 1 shl 20
+    }
+
+    init {
+        require(capacity in 1..MAX_CAPACITY) { "capacity must be between 1 and $MAX_CAPACITY." }
+    }
+
+    // A KeyExpr's string is final, so slots published through a data race are seen fully built.
+    private val slots = arrayOfNulls<KeyExpr>(if (capacity == 1) 1 else Integer.highestOneBit(capacity - 1) shl 1)
+
+    private val mask = slots.size - 1
+
+    /** The number of slots of the cache. */
+    val capacity: Int
+        get() = slots.size
+
+    /** Returns the cached [KeyExpr] for [keyExpr], caching a new one when it is not present. */
+    internal fun intern(keyExpr: String): KeyExpr {
+        val hash = keyExpr.hashCode()
+        val index = (hash xor (hash ushr 16)) and mask
+        val cached = slots[index]
+        if (cached != null && cached.toString() == keyExpr) return cached
+        return KeyExpr(keyExpr).also { slots[index] = it }
+    }
+
+    /** Empties the cache. */
+    fun clear() = slots.fill(null)
+}
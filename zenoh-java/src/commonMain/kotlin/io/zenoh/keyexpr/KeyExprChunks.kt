@@ -0,0 +1,221 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.keyexpr
+
+/**
+ * A key expression precompiled for matching on the JVM: its chunks, each classified once, so
+ * that [intersects], [includes] and [relationTo] run without any native crossing nor any
+ * re-parsing of the string.
+ *
+ * The semantics are zenoh's:
+ * - `*` matches any single chunk, `**` any number of chunks (none included);
+ * - `$*` matches any run of characters, possibly empty, within a chunk;
+ * - a verbatim chunk (starting with `@`) is only matched by the very same chunk: neither `*`,
+ *   `**` nor `$*` ever match it.
+ *
+ * The key expression must be valid and canon, as every [KeyExpr] is.
+ */
+internal class KeyExprChunks private constructor(
+    private val chunks: Array<String>,
+    private val kinds: ByteArray,
+) {
+
+    companion object {
+        const val LITERAL: Byte = 0
+        const val STAR: Byte = 1
+        const val DOUBLE_STAR: Byte = 2
+        /** A chunk containing `$*`. */
+        const val SUB_WILD: Byte = 3
+        const val VERBATIM: Byte = 4
+
+        fun compile(keyExpr: String): KeyExprChunks {
+            val chunks = keyExpr.split('/').toTypedArray()
+            val kinds = ByteArray(chunks.size) { kindOf(chunks[it]) }
+            return KeyExprChunks(chunks, kinds)
+        }
+
+        fun kindOf(chunk: String): Byte = when {
+            chunk == "*" -> STAR
+            chunk == "**" -> DOUBLE_STAR
+            chunk.startsWith('@') -> VERBATIM
+            chunk.indexOf('$') >= 0 -> SUB_WILD
+            else -> LITERAL
+        }
+
+        /** Whether two chunks, neither of them `**`, have a key chunk in common. */
+        fun chunkIntersects(a: String, aKind: Byte, b: String, bKind: Byte): Boolean = when {
+            a == b -> true
+            aKind == VERBATIM || bKind == VERBATIM -> false
+            aKind == STAR || bKind == STAR -> true
+            aKind == LITERAL && bKind == LITERAL -> false
+            aKind == LITERAL -> subWildMatches(b, a)
+            bKind == LITERAL -> subWildMatches(a, b)
+            else -> subWildIntersects(a, b)
+        }
+
+        /** Whether chunk [a] includes chunk [b], neither of them `**`. */
+        fun chunkIncludes(a: String, aKind: Byte, b: String, bKind: Byte): Boolean = when {
+            a == b -> true
+            aKind == VERBATIM || bKind == VERBATIM -> false
+            aKind == STAR -> true
+            aKind == SUB_WILD && bKind != STAR -> subWildIncludes(a, b)
+            else -> false
+        }
+
+        /** Whether the `$*` pattern [pattern] matches the literal chunk [chunk]. */
+        private fun subWildMatches(pattern: String, chunk: String): Boolean {
+            val parts = pattern.split("$*")
+            return containsInOrder(parts, chunk)
+        }
+
+        /**
+         * Whether the `$*` pattern [a] includes every chunk matched by the pattern [b]: [b]'s
+         * fixed prefix and suffix must carry [a]'s, and [a]'s inner fixed parts must appear in
+         * between, in order. [b]'s own `$*` may stand for anything, so they are matched as text —
+         * a fixed part of [a] can only be guaranteed by fixed text of [b].
+         */
+        private fun subWildIncludes(a: String, b: String): Boolean = containsInOrder(a.split("$*"), b)
+
+        /**
+         * Whether [text] starts with the first of [parts], ends with the last, and contains the
+         * others in order in between, without overlaps.
+         */
+        private fun containsInOrder(parts: List<String>, text: String): Boolean {
+            val prefix = parts.first()
+            val suffix = parts.last()
+            if (prefix.length + suffix.length > text.length) return false
+            if (!text.startsWith(prefix) || !text.endsWith(suffix)) return false
+            var from = prefix.length
+            val end = text.length - suffix.length
+            for (k in 1 until parts.size - 1) {
+                val part = parts[k]
+                val at = text.indexOf(part, from)
+                if (at < 0 || at + part.length > end) return false
+                from = at + part.length
+            }
+            return true
+        }
+
+        /**
+         * Whether two `$*` patterns match a chunk in common: a walk over both patterns where a
+         * `$*` either stops or absorbs the other side's next token, memoized per position pair.
+         */
+        private fun subWildIntersects(a: String, b: String): Boolean {
+            val memo = ByteArray((a.length + 1) * (b.length + 1))
+            fun walk(i: Int, j: Int): Boolean {
+                val slot = i * (b.length + 1) + j
+                if (memo[slot] != 0.toByte()) return memo[slot] == 1.toByte()
+                val result = when {
+                    i == a.length && j == b.length -> true
+                    i < a.length && a[i] == '$' ->
+                        walk(i + 2, j) || (j < b.length && walk(i, j + if (b[j] == '$') 2 else 1))
+                    j < b.length && b[j] == '$' ->
+                        walk(i, j + 2) || (i < a.length && walk(i + 1, j))
+                    i < a.length && j < b.length -> a[i] == b[j] && walk(i + 1, j + 1)
+                    else -> false
+                }
+                memo[slot] = if (result) 1 else 2
+                return result
+            }
+            return walk(0, 0)
+        }
+    }
+
+    val size get() = chunks.size
+
+    fun chunk(index: Int): String = chunks[index]
+
+    fun kind(index: Int): Byte = kinds[index]
+
+    private fun hasVerbatimFrom(index: Int): Boolean {
+        for (k in index until size) {
+            if (kinds[k] == VERBATIM) return true
+        }
+        return false
+    }
+
+    /**
+     * Failed states of a walk that branched on a `**`, never succeeding later: allocated at the first
+     * branch, so that walks without any stay allocation-free.
+     */
+    private fun failedStates(other: KeyExprChunks, failed: BooleanArray?) =
+        failed ?: BooleanArray((size + 1) * (other.size + 1))
+
+    /** Whether at least one key belongs to both this key expression and [other]. */
+    fun intersects(other: KeyExprChunks): Boolean = intersects(0, other, 0, null)
+
+    private fun intersects(from: Int, other: KeyExprChunks, otherFrom: Int, failed: BooleanArray?): Boolean {
+        var i = from
+        var j = otherFrom
+        while (i < size && j < other.size) {
+            if (kinds[i] == DOUBLE_STAR) {
+                if (i == size - 1) return !other.hasVerbatimFrom(j)
+                val memo = failedStates(other, failed)
+                return (other.kinds[j] != VERBATIM && intersectsFrom(i, other, j + 1, memo)) ||
+                    intersectsFrom(i + 1, other, j, memo)
+            }
+            if (other.kinds[j] == DOUBLE_STAR) {
+                if (j == other.size - 1) return !hasVerbatimFrom(i)
+                val memo = failedStates(other, failed)
+                return (kinds[i] != VERBATIM && intersectsFrom(i + 1, other, j, memo)) ||
+                    intersectsFrom(i, other, j + 1, memo)
+            }
+            if (!chunkIntersects(chunks[i], kinds[i], other.chunks[j], other.kinds[j])) return false
+            i++
+            j++
+        }
+        return (i == size || (i == size - 1 && kinds[i] == DOUBLE_STAR)) &&
+            (j == other.size || (j == other.size - 1 && other.kinds[j] == DOUBLE_STAR))
+    }
+
+    private fun intersectsFrom(from: Int, other: KeyExprChunks, otherFrom: Int, failed: BooleanArray): Boolean {
+        val state = from * (other.size + 1) + otherFrom
+        if (failed[state]) return false
+        return intersects(from, other, otherFrom, failed).also { if (!it) failed[state] = true }
+    }
+
+    /** Whether every key of [other] belongs to this key expression. */
+    fun includes(other: KeyExprChunks): Boolean = includes(0, other, 0, null)
+
+    private fun includes(from: Int, other: KeyExprChunks, otherFrom: Int, failed: BooleanArray?): Boolean {
+        var i = from
+        var j = otherFrom
+        var memo = failed
+        while (i < size) {
+            if (kinds[i] == DOUBLE_STAR) {
+                if (i == size - 1) return !other.hasVerbatimFrom(j)
+                memo = failedStates(other, memo)
+                if (includesFrom(i + 1, other, j, memo)) return true
+                // Otherwise `**` absorbs one more chunk of other, which must leave some for the rest.
+                if (j == other.size || other.kinds[j] == VERBATIM) return false
+                j++
+                if (j == other.size) return false
+            } else {
+                if (j == other.size || other.kinds[j] == DOUBLE_STAR) return false
+                if (!chunkIncludes(chunks[i], kinds[i], other.chunks[j], other.kinds[j])) return false
+                i++
+                j++
+            }
+        }
+        return j == other.size
+    }
+
+    private fun includesFrom(from: Int, other: KeyExprChunks, otherFrom: Int, failed: BooleanArray): Boolean {
+        val state = from * (other.size + 1) + otherFrom
+        if (failed[state]) return false
+        return includes(from, other, otherFrom, failed).also { if (!it) failed[state] = true }
+    }
+}
@@ -0,0 +1,319 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.keyexpr
+
+import io.zenoh.keyexpr.KeyExprChunks.Companion.DOUBLE_STAR
+import io.zenoh.keyexpr.KeyExprChunks.Companion.LITERAL
+import io.zenoh.keyexpr.KeyExprChunks.Companion.VERBATIM
+import java.util.AbstractMap.SimpleImmutableEntry
+
+/**
+ * An index of values by key expression, wildcards included, answering which of its entries
+ * match a key expression without testing them one by one.
+ *
+ * Entries are stored in a trie of key expression chunks. A lookup walks the trie once, following
+ * only the branches that can still match: literal chunks are looked up by hash, and only the
+ * wildcard branches (`*`, `**`, `$*`) are explored beside them.
+ *
+ * Example, dispatching samples to handlers registered on wildcard key expressions:
+ * ```java
+ * KeyExprTree<Handler> handlers = new KeyExprTree<>();
+ * handlers.insert(KeyExpr.tryFrom("robot/*/camera"), cameraHandler);
+ * handlers.insert(KeyExpr.tryFrom("robot/r1/**/status"), r1StatusHandler);
+ *
+ * for (Map.Entry<KeyExpr, Handler> entry : handlers.intersecting(sample.getKeyExpr())) {
+ *     entry.getValue().handle(sample);
+ * }
+ * ```
+ *
+ * This class is not thread-safe; see [ConcurrentKeyExprTree] for a variant that can be read
+ * concurrently without locking.
+ *
+ * @param V The type of the values.
+ */
+open class KeyExprTree<V> {
+
+    internal open var root: KeyExprTreeNode<V> = KeyExprTreeNode.empty()
+
+    @Volatile
+    private var entryCount = 0
+
+    /** The number of entries. */
+    fun size(): Int = entryCount
+
+    fun isEmpty(): Boolean = entryCount == 0
+
+    /**
+     * Associates [value] to [keyExpr], replacing the value it had, if any.
+     *
+     * @return The previous value of [keyExpr], or `null` if it had none.
+     */
+    open fun insert(keyExpr: KeyExpr, value: V): V? {
+        val chunks = keyExpr.chunks
+        val previous = root.find(chunks, 0)
+        root = root.insert(chunks, 0, SimpleImmutableEntry(keyExpr, value))
+        if (previous == null) entryCount++
+        return previous?.value
+    }
+
+    /**
+     * Removes the entry of [keyExpr].
+     *
+     * @return The value of [keyExpr], or `null` if it had none.
+     */
+    open fun remove(keyExpr: KeyExpr): V? {
+        val chunks = keyExpr.chunks
+        val previous = root.find(chunks, 0) ?: return null
+        root = root.remove(chunks, 0)
+        entryCount--
+        return previous.value
+    }
+
+    /** The value of the entry whose key expression is exactly [keyExpr], if any. */
+    operator fun get(keyExpr: KeyExpr): V? = root.find(keyExpr.chunks, 0)?.value
+
+    /** The entries whose key expression has at least one key in common with [keyExpr]. */
+    fun intersecting(keyExpr: KeyExpr): List<Map.Entry<KeyExpr, V>> {
+        val query = keyExpr.chunks
+        return root.collect(query) { it.intersects(query) }
+    }
+
+    /** The entries whose key expression is included by [keyExpr]: all their keys are keys of [keyExpr]. */
+    fun includedBy(keyExpr: KeyExpr): List<Map.Entry<KeyExpr, V>> {
+        val query = keyExpr.chunks
+        return root.collect(query) { query.includes(it) }
+    }
+
+    /** The entries whose key expression includes [keyExpr]: all the keys of [keyExpr] are theirs. */
+    fun including(keyExpr: KeyExpr): List<Map.Entry<KeyExpr, V>> {
+        val query = keyExpr.chunks
+        return root.collect(query) { it.includes(query) }
+    }
+
+    /** All the entries, in no particular order. */
+    fun entries(): List<Map.Entry<KeyExpr, V>> = ArrayList<Map.Entry<KeyExpr, V>>().also { root.collectAll(it) }
+}
+
+/**
+ * A [KeyExprTree] for lookups from many threads — subscriber and queryable callbacks — without
+ * locking.
+ *
+ * Its trie is immutable: a write copies the path to the entry it changes and publishes the new
+ * root, so a lookup works on a consistent snapshot and never waits. Writes are serialized with
+ * one another and cost a copy of the nodes along the path; the structure suits indexes that are
+ * read far more often than they are modified.
+ *
+ * @param V The type of the values.
+ */
+class ConcurrentKeyExprTree<V> : KeyExprTree<V>() {
+
+    @Volatile
+    override var root: KeyExprTreeNode<V> = KeyExprTreeNode.empty()
+
+    @Synchronized
+    override fun insert(keyExpr: KeyExpr, value: V): V? = super.insert(keyExpr, value)
+
+    @Synchronized
+    override fun remove(keyExpr: KeyExpr): V? = super.remove(keyExpr)
+}
+
+/**
+ * A node of a [KeyExprTree] trie, immutable: updates return a new node sharing the unchanged
+ * branches. Children are split by chunk kind — literal and verbatim chunks in a hash map,
+ * wildcard chunks in a short array — so lookups reach literal branches directly.
+ */
+internal class KeyExprTreeNode<V> private constructor(
+    val entry: Map.Entry<KeyExpr, V>?,
+    private val literals: Map<String, KeyExprTreeNode<V>>,
+    private val wildcardChunks: Array<String>,
+    private val wildcards: Array<KeyExprTreeNode<V>>,
+) {
+
+    companion object {
+        private val EMPTY = KeyExprTreeNode<Any?>(null, emptyMap(), emptyArray(), emptyArray())
+
+        @Suppress("UNCHECKED_CAST")
+        fun <V> empty(): KeyExprTreeNode<V> = EMPTY as KeyExprTreeNode<V>
+
+        private fun isLiteral(kind: Byte) = kind == LITERAL || kind == VERBATIM
+
+        /** Query states are bit masks of chunk positions: longer queries are filtered exhaustively. */
+        private const val MAX_TRACKED_CHUNKS = 62
+    }
+
+    fun isEmpty(): Boolean = entry == null && literals.isEmpty() && wildcards.isEmpty()
+
+    private fun child(chunk: String): KeyExprTreeNode<V>? {
+        literals[chunk]?.let { return it }
+        val index = wildcardChunks.indexOf(chunk)
+        return if (index >= 0) wildcards[index] else null
+    }
+
+    private fun withChild(chunk: String, child: KeyExprTreeNode<V>): KeyExprTreeNode<V> {
+        if (isLiteral(KeyExprChunks.kindOf(chunk))) {
+            val newLiterals = HashMap(literals)
+            if (child.isEmpty()) newLiterals.remove(chunk) else newLiterals[chunk] = child
+            return KeyExprTreeNode(entry, newLiterals, wildcardChunks, wildcards)
+        }
+        val index = wildcardChunks.indexOf(chunk)
+        return when {
+            child.isEmpty() && index < 0 -> this
+            child.isEmpty() -> KeyExprTreeNode(
+                entry,
+                literals,
+                wildcardChunks.filterIndexed { i, _ -> i != index }.toTypedArray(),
+                wildcards.filterIndexed { i, _ -> i != index }.toTypedArray<KeyExprTreeNode<V>>(),
+            )
+            index < 0 -> KeyExprTreeNode(entry, literals, wildcardChunks + chunk, wildcards + child)
+            else -> KeyExprTreeNode(entry, literals, wildcardChunks, wildcards.copyOf().also { it[index] = child })
+        }
+    }
+
+    fun find(chunks: KeyExprChunks, index: Int): Map.Entry<KeyExpr, V>? =
+        if (index == chunks.size) entry else child(chunks.chunk(index))?.find(chunks, index + 1)
+
+    fun insert(chunks: KeyExprChunks, index: Int, entry: Map.Entry<KeyExpr, V>): KeyExprTreeNode<V> {
+        if (index == chunks.size) return KeyExprTreeNode(entry, literals, wildcardChunks, wildcards)
+        val chunk = chunks.chunk(index)
+        return withChild(chunk, (child(chunk) ?: empty()).insert(chunks, index + 1, entry))
+    }
+
+    fun remove(chunks: KeyExprChunks, index: Int): KeyExprTreeNode<V> {
+        if (index == chunks.size) return KeyExprTreeNode(null, literals, wildcardChunks, wildcards)
+        val chunk = chunks.chunk(index)
+        val child = child(chunk) ?: return this
+        return withChild(chunk, child.remove(chunks, index + 1))
+    }
+
+    fun collectAll(out: MutableList<Map.Entry<KeyExpr, V>>) {
+        entry?.let { out.add(it) }
+        literals.values.forEach { it.collectAll(out) }
+        wildcards.forEach { it.collectAll(out) }
+    }
+
+    /**
+     * The entries of this subtree that can intersect [query] and pass [accept], the exact check.
+     *
+     * The walk tracks the set of [query] positions the chunks followed so far can be aligned
+     * with, and abandons a branch as soon as that set is empty.
+     */
+    fun collect(query: KeyExprChunks, accept: (KeyExprChunks) -> Boolean): List<Map.Entry<KeyExpr, V>> {
+        val out = ArrayList<Map.Entry<KeyExpr, V>>()
+        if (query.size > MAX_TRACKED_CHUNKS) {
+            collectAll(out)
+            out.retainAll { accept(it.key.chunks) }
+        } else {
+            collect(query, closure(query, 1L), accept, out)
+        }
+        return out
+    }
+
+    private fun collect(
+        query: KeyExprChunks,
+        states: Long,
+        accept: (KeyExprChunks) -> Boolean,
+        out: MutableList<Map.Entry<KeyExpr, V>>,
+    ) {
+        val e = entry
+        if (e != null && states and (1L shl query.size) != 0L && accept(e.key.chunks)) out.add(e)
+        for (i in wildcards.indices) {
+            val next = step(query, states, wildcardChunks[i])
+            if (next != 0L) wildcards[i].collect(query, next, accept, out)
+        }
+        if (literals.isEmpty()) return
+        if (pointsAtLiteralsOnly(query, states)) {
+            // Only the literal children named by the query can match: look them up directly.
+            var seen = 0L
+            var remaining = states
+            while (remaining != 0L) {
+                val position = java.lang.Long.numberOfTrailingZeros(remaining)
+                remaining = remaining and (remaining - 1)
+                if (position == query.size) continue
+                val chunk = query.chunk(position)
+                if (alreadyLookedUp(query, seen, chunk)) continue
+                seen = seen or (1L shl position)
+                val child = literals[chunk] ?: continue
+                val next = step(query, states, chunk)
+                if (next != 0L) child.collect(query, next, accept, out)
+            }
+        } else {
+            for ((chunk, child) in literals) {
+                val next = step(query, states, chunk)
+                if (next != 0L) child.collect(query, next, accept, out)
+            }
+        }
+    }
+
+    private fun pointsAtLiteralsOnly(query: KeyExprChunks, states: Long): Boolean {
+        var remaining = states
+        while (remaining != 0L) {
+            val position = java.lang.Long.numberOfTrailingZeros(remaining)
+            remaining = remaining and (remaining - 1)
+            if (position < query.size && !isLiteral(query.kind(position))) return false
+        }
+        return true
+    }
+
+    private fun alreadyLookedUp(query: KeyExprChunks, seen: Long, chunk: String): Boolean {
+        var remaining = seen
+        while (remaining != 0L) {
+            val position = java.lang.Long.numberOfTrailingZeros(remaining)
+            remaining = remaining and (remaining - 1)
+            if (query.chunk(position) == chunk) return true
+        }
+        return false
+    }
+
+    /** Adds to [states] the positions reachable by letting a `**` of the query match no chunk. */
+    private fun closure(query: KeyExprChunks, states: Long): Long {
+        var result = states
+        for (position in 0 until query.size) {
+            if (result and (1L shl position) != 0L && query.kind(position) == DOUBLE_STAR) {
+                result = result or (1L shl (position + 1))
+            }
+        }
+        return result
+    }
+
+    /** The query positions reachable from [states] by following the tree chunk [chunk]. */
+    private fun step(query: KeyExprChunks, states: Long, chunk: String): Long {
+        val kind = KeyExprChunks.kindOf(chunk)
+        var next = 0L
+        var remaining = states
+        while (remaining != 0L) {
+            val position = java.lang.Long.numberOfTrailingZeros(remaining)
+            remaining = remaining and (remaining - 1)
+            if (kind == DOUBLE_STAR) {
+                // The tree's `**` absorbs any run of query chunks up to the next verbatim one.
+                var p = position
+                while (true) {
+                    next = next or (1L shl p)
+                    if (p == query.size || query.kind(p) == VERBATIM) break
+                    p++
+                }
+            } else if (position < query.size) {
+                val queryKind = query.kind(position)
+                if (queryKind == DOUBLE_STAR) {
+                    // The query's `**` absorbs the chunk and may go on.
+                    if (kind != VERBATIM) next = next or (1L shl position)
+                } else if (KeyExprChunks.chunkIntersects(chunk, kind, query.chunk(position), queryKind)) {
+                    next = next or (1L shl (position + 1))
+                }
+            }
+        }
+        return if (next == 0L) 0L else closure(query, next)
+    }
+}
@@ -0,0 +1,349 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.keyexpr
+
+import io.zenoh.exceptions.ZError
+import io.zenoh.keyexpr.KeyExprChunks.Companion.DOUBLE_STAR
+import io.zenoh.keyexpr.KeyExprChunks.Companion.VERBATIM
+
+/**
+ * A key expression format: a key expression template with named fields, compiled once, that builds
+ * [KeyExpr]s from field values and parses key expressions back into their field values.
+ *
+ * The syntax is zenoh's: a field is written `${name:pattern}`, or `${name:pattern#default}`, where
+ * `pattern` is the key expression the field's values must belong to (typically `*` for one chunk, or
+ * `**` for any number of them) and `default` the value used when the field is not set. Each field
+ * spans whole chunks, and its name is unique within the format.
+ *
+ * Validation happens at compile time, natively and once: building a key out of plain values (ones
+ * without any wildcard nor verbatim chunk) is then done on the JVM only, without the native call
+ * [KeyExpr.tryFrom] makes; parsing always is.
+ *
+ * Example:
+ * ```java
+ * KeyFormat format = KeyFormat.compile("robot/${id:*}/joint/${n:*}/state");
+ *
+ * KeyExpr keyExpr = format.build("r1", 3);                       // robot/r1/joint/3/state
+ * KeyFormat.Formatter formatter = format.formatter().set("id", "r1");
+ * KeyExpr other = formatter.set("n", 4).build();                 // robot/r1/joint/4/state
+ *
+ * KeyFormat.Parsed parsed = format.parse(sample.getKeyExpr());
+ * String robot = parsed.get("id");
+ * ```
+ */
+class KeyFormat private constructor(
+    private val format: String,
+    private val specs: Array<Spec>,
+    // The template, as pieces joined by '/': a literal run of chunks, or a field when fieldAt >= 0.
+    private val literals: Array<String>,
+    private val fieldAt: IntArray,
+    private val literalsArePlain: Boolean,
+    // The chunks of the format's key expression, each tagged with the field it belongs to (or -1).
+    private val patternChunks: KeyExprChunks,
+    private val owners: IntArray,
+) {
+
+    private class Spec(val name: String, val pattern: String, val default: String?) {
+        val chunks: KeyExprChunks = KeyExprChunks.compile(pattern)
+    }
+
+    companion object {
+
+        /**
+         * Compiles [format].
+         *
+         * @param format The key expression format.
+         * @return The [KeyFormat].
+         * @throws ZError if the format, one of its patterns or one of its defaults is not valid.
+         */
+        @JvmStatic
+        @Throws(ZError::class)
+        fun compile(format: String): KeyFormat {
+            val specs = mutableListOf<Spec>()
+            val literals = mutableListOf<String>()
+            val fieldAt = mutableListOf<Int>()
+            val pattern = StringBuilder()
+            val owners = mutableListOf<Int>()
+            var from = 0
+            while (from <= format.length) {
+                val start = format.indexOf("\${", from).let { if (it < 0) format.length else it }
+                addLiteral(format, from, start, literals, fieldAt, pattern, owners)
+                if (start == format.length) break
+                val end = format.indexOf('}', start)
+                if (end < 0) throw ZError("Unterminated field in key format '$format'.")
+                if ((start > 0 && format[start - 1] != '/') || (end + 1 < format.length && format[end + 1] != '/')) {
+                    throw ZError("A field of key format '$format' does not span whole chunks.")
+                }
+                val spec = parseSpec(format, format.substring(start + 2, end))
+                if (specs.any { it.name == spec.name }) throw ZError("Duplicate field '${spec.name}' in key format '$format'.")
+                literals.add("")
+                fieldAt.add(specs.size)
+                if (pattern.isNotEmpty()) pattern.append('/')
+                pattern.append(spec.pattern)
+                repeat(spec.chunks.size) { owners.add(specs.size) }
+                specs.add(spec)
+                from = end + 1
+            }
+            if (specs.isEmpty()) throw ZError("Key format '$format' has no field.")
+            // Validates the key expression every key of the format belongs to, natively, once.
+            val patternKeyExpr = KeyExpr.tryFrom(pattern.toString())
+            return KeyFormat(
+                format,
+                specs.toTypedArray(),
+                literals.toTypedArray(),
+                fieldAt.toIntArray(),
+                literals.all { it.isEmpty() || isPlain(it) },
+                patternKeyExpr.chunks,
+                owners.toIntArray(),
+            )
+        }
+
+        /**
+         * Adds the literal chunks between [from] and [to], dropping only the one `/` that separates
+         * them from the field before and the one after. Any other `/` at either end — a leading or
+         * trailing `/` of the format, or an empty chunk — is rejected.
+         */
+        @Throws(ZError::class)
+        private fun addLiteral(
+            format: String, from: Int, to: Int,
+            literals: MutableList<String>, fieldAt: MutableList<Int>,
+            pattern: StringBuilder, owners: MutableList<Int>,
+        ) {
+            val raw = format.substring(from, to)
+            val afterField = from > 0
+            val beforeField = to < format.length
+            if (raw.isEmpty() || (raw == "/" && afterField && beforeField)) return
+            val literal = raw.substring(if (afterField) 1 else 0, if (beforeField) raw.length - 1 else raw.length)
+            if (literal.isEmpty() || literal.startsWith('/') || literal.endsWith('/') || literal.contains("//")) {
+                throw ZError("Key format '$format' has an empty chunk.")
+            }
+            literals.add(literal)
+            fieldAt.add(-1)
+            if (pattern.isNotEmpty()) pattern.append('/')
+            pattern.append(literal)
+            repeat(literal.count { it == '/' } + 1) { owners.add(-1) }
+        }
+
+        @Throws(ZError::class)
+        private fun parseSpec(format: String, spec: String): Spec {
+            val colon = spec.indexOf(':')
+            if (colon <= 0) throw ZError("Field '$spec' of key format '$format' must be written 'name:pattern'.")
+            val hash = spec.indexOf('#', colon)
+            val name = spec.substring(0, colon)
+            val pattern = spec.substring(colon + 1, if (hash < 0) spec.length else hash)
+            val default = if (hash < 0) null else spec.substring(hash + 1)
+            val result = Spec(name, KeyExpr.tryFrom(pattern).toString(), default)
+            if (default != null && !(default.isEmpty() && pattern == "**") &&
+                !result.chunks.includes(KeyExpr.tryFrom(default).chunks)
+            ) {
+                throw ZError("Default '$default' of field '$name' does not match its pattern '$pattern'.")
+            }
+            return result
+        }
+
+        /** Whether [value] is a valid key expression made of plain chunks only: no wildcard, no verbatim chunk. */
+        private fun isPlain(value: String): Boolean {
+            if (value.isEmpty() || value[0] == '/' || value[value.length - 1] == '/') return false
+            for (i in value.indices) {
+                when (value[i]) {
+                    '*', '$', '#', '?', '@' -> return false
+                    '/' -> if (value[i - 1] == '/') return false
+                }
+            }
+            return true
+        }
+    }
+
+    /** The names of the fields, in the order they appear in the format. */
+    val fields: List<String> = specs.map { it.name }
+
+    private val indices: Map<String, Int> = HashMap<String, Int>().also { map ->
+        specs.forEachIndexed { index, spec -> map[spec.name] = index }
+    }
+
+    @Throws(ZError::class)
+    private fun indexOf(name: String): Int =
+        indices[name] ?: throw ZError("Key format '$format' has no field '$name'.")
+
+    /** Returns a new [Formatter] of this format, with no field set. */
+    fun formatter(): Formatter = Formatter(this)
+
+    /**
+     * Builds the key expression whose fields have the given [values], in the order of [fields];
+     * a null value stands for the field's default.
+     *
+     * @throws ZError if a value is missing or does not match its field's pattern.
+     */
+    @Throws(ZError::class)
+    fun build(vararg values: Any?): KeyExpr {
+        if (values.size != specs.size) {
+            throw ZError("Key format '$format' has ${specs.size} fields, ${values.size} values given.")
+        }
+        return build(Array(values.size) { values[it]?.toString() })
+    }
+
+    @Throws(ZError::class)
+    private fun build(values: Array<String?>): KeyExpr {
+        val result = StringBuilder(format.length + 16)
+        var plain = literalsArePlain
+        for (piece in literals.indices) {
+            val field = fieldAt[piece]
+            val text = if (field < 0) literals[piece] else {
+                val spec = specs[field]
+                val value = values[field] ?: spec.default
+                    ?: throw ZError("Field '${spec.name}' of key format '$format' is not set.")
+                if (!checkValue(spec, value)) plain = false
+                value
+            }
+            if (text.isEmpty()) continue
+            if (result.isNotEmpty()) result.append('/')
+            result.append(text)
+        }
+        if (result.isEmpty()) throw ZError("Key format '$format' built an empty key expression.")
+        // Plain chunks joined by '/' are valid and canon; anything with wildcards may not be.
+        return if (plain) KeyExpr(result.toString()) else KeyExpr.tryFrom(result.toString())
+    }
+
+    /** Checks [value] against the pattern of [spec], returning whether it was checked on the JVM only. */
+    @Throws(ZError::class)
+    private fun checkValue(spec: Spec, value: String): Boolean {
+        if (value.isEmpty()) {
+            if (spec.pattern == "**") return true
+            throw ZError("Field '${spec.name}' of key format '$format' cannot be empty.")
+        }
+        val plain = isPlain(value)
+        val matches = when {
+            !plain -> spec.chunks.includes(KeyExpr.tryFrom(value).chunks)
+            spec.pattern == "*" -> value.indexOf('/') < 0
+            spec.pattern == "**" -> true
+            else -> spec.chunks.includes(KeyExprChunks.compile(value))
+        }
+        if (!matches) throw ZError("Value '$value' does not match the pattern '${spec.pattern}' of field '${spec.name}'.")
+        return plain
+    }
+
+    /**
+     * Parses [keyExpr] into the values of the fields of this format.
+     *
+     * @throws ZError if [keyExpr] does not belong to this format.
+     */
+    @Throws(ZError::class)
+    fun parse(keyExpr: KeyExpr): Parsed {
+        val key = keyExpr.chunks
+        val starts = IntArray(patternChunks.size + 1)
+        val failed = BooleanArray((patternChunks.size + 1) * (key.size + 1))
+        if (!match(0, key, 0, starts, failed)) throw ZError("Key expression '$keyExpr' does not match key format '$format'.")
+        // Character offsets of the key's chunks, the last one one past the end of the string.
+        val text = keyExpr.toString()
+        val offsets = IntArray(key.size + 1)
+        for (i in 1..key.size) offsets[i] = offsets[i - 1] + key.chunk(i - 1).length + 1
+        val values = arrayOfNulls<String>(specs.size)
+        var i = 0
+        while (i < owners.size) {
+            val field = owners[i]
+            var end = i + 1
+            while (end < owners.size && owners[end] == field) end++
+            if (field >= 0 && starts[end] > starts[i]) {
+                values[field] = text.substring(offsets[starts[i]], offsets[starts[end]] - 1)
+            }
+            i = end
+        }
+        return Parsed(this, values)
+    }
+
+    /**
+     * Whether the key chunks from [keyFrom] belong to the pattern chunks from [from], recording
+     * where each pattern chunk starts matching in [starts]. Failed states never succeed later, so
+     * they are remembered in [failed].
+     */
+    private fun match(from: Int, key: KeyExprChunks, keyFrom: Int, starts: IntArray, failed: BooleanArray): Boolean {
+        val state = from * (key.size + 1) + keyFrom
+        if (failed[state]) return false
+        val matched = when {
+            from == patternChunks.size -> keyFrom == key.size
+            patternChunks.kind(from) == DOUBLE_STAR -> {
+                var end = keyFrom
+                var found = match(from + 1, key, end, starts, failed)
+                // `**` absorbs the key's chunks one at a time, verbatim ones excepted.
+                while (!found && end < key.size && key.kind(end) != VERBATIM) {
+                    end++
+                    found = match(from + 1, key, end, starts, failed)
+                }
+                found
+            }
+            keyFrom == key.size || key.kind(keyFrom) == DOUBLE_STAR -> false
+            else -> KeyExprChunks.chunkIncludes(
+                patternChunks.chunk(from), patternChunks.kind(from), key.chunk(keyFrom), key.kind(keyFrom)
+            ) && match(from + 1, key, keyFrom + 1, starts, failed)
+        }
+        if (matched) starts[from] = keyFrom else failed[state] = true
+        return matched
+    }
+
+    override fun toString(): String = format
+
+    /**
+     * A builder of the key expressions of a [KeyFormat]. Fields keep their values from one [build]
+     * to the next, so only the ones that change need to be set again.
+     */
+    class Formatter internal constructor(private val format: KeyFormat) {
+
+        private val values = arrayOfNulls<String>(format.specs.size)
+
+        /**
+         * Sets field [name] to [value], or back to its default when [value] is null.
+         *
+         * @throws ZError if the format has no such field.
+         */
+        @Throws(ZError::class)
+        fun set(name: String, value: Any?): Formatter = apply {
+            values[format.indexOf(name)] = value?.toString()
+        }
+
+        /** Returns the value field [name] is set to, if any. */
+        @Throws(ZError::class)
+        fun get(name: String): String? = values[format.indexOf(name)]
+
+        /** Unsets all the fields. */
+        fun clear(): Formatter = apply { values.fill(null) }
+
+        /**
+         * Builds the key expression of the values set.
+         *
+         * @throws ZError if a field without default is not set, or a value does not match its field's pattern.
+         */
+        @Throws(ZError::class)
+        fun build(): KeyExpr = format.build(values)
+    }
+
+    /** The values of the fields of a key expression parsed by a [KeyFormat]. */
+    class Parsed internal constructor(private val format: KeyFormat, private val values: Array<String?>) {
+
+        /**
+         * Returns the value of field [name]; null when the field's `**` pattern matched no chunk.
+         *
+         * @throws ZError if the format has no such field.
+         */
+        @Throws(ZError::class)
+        fun get(name: String): String? = values[format.indexOf(name)]
+
+        /** The values of the fields, in the order of [KeyFormat.fields]. */
+        fun values(): List<String?> = values.toList()
+
+        override fun toString(): String =
+            format.fields.zip(values).joinToString(prefix = "{", postfix = "}") { (name, value) -> "$name=$value" }
+    }
+}
@@ -22,7 +22,10 @@ import io.zenoh.exceptions.throwZError
 import io.zenoh.exceptions.throwZError0
 import io.zenoh.handlers.BlockingQueueHandler
 import io.zenoh.handlers.Callback
+import io.zenoh.handlers.CallbackFutureHandler
+import io.zenoh.handlers.FutureHandler
 import io.zenoh.handlers.Handler
+import io.zenoh.handlers.startAsync
 import io.zenoh.keyexpr.KeyExpr
 import io.zenoh.keyexpr.jniSel
 import io.zenoh.keyexpr.jniStr
@@ -35,6 +38,7 @@ import io.zenoh.sample.Sample
 import java.time.Duration
 import java.util.*
 import java.util.concurrent.BlockingQueue
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.LinkedBlockingDeque
 
 /**
@@ -54,8 +58,9 @@ class Liveliness internal constructor(private val session: Session) {
      */
     @Throws(ZError::class)
     fun declareToken(keyExpr: KeyExpr): LivelinessToken {
-        val zSession = session.zSession ?: throw Session.sessionClosedException
-        return LivelinessToken(zSession.livelinessDeclareToken(keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(), throwZError0, throwZError))
+        return session.withSession { zSession ->
+            LivelinessToken(zSession.livelinessDeclareToken(keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(), throwZError0, throwZError))
+        }
     }
 
     /**
@@ -70,16 +75,17 @@ class Liveliness internal constructor(private val session: Session) {
         keyExpr: KeyExpr,
         timeout: Duration = Duration.ofMillis(10000),
     ): BlockingQueue<Optional<Reply>> {
-        val zSession = session.zSession ?: throw Session.sessionClosedException
-        val handler = BlockingQueueHandler<Reply>(LinkedBlockingDeque())
-        zSession.livelinessGet(
-            keyExpr.jniSel, keyExpr.jniStr, keyExpr.jniHandle,
-            timeout.toMillis(),
-            replyCallbackOf { handler.handle(it) },
-            { handler.onClose() },
-            throwZError0, throwZError
-        )
-        return handler.receiver()
+        return session.withSession { zSession ->
+            val handler = BlockingQueueHandler<Reply>(LinkedBlockingDeque())
+            zSession.livelinessGet(
+                keyExpr.jniSel, keyExpr.jniStr, keyExpr.jniHandle,
+                timeout.toMillis(),
+                replyCallbackOf { handler.handle(it) },
+                { handler.onClose() },
+                throwZError0, throwZError
+            )
+            handler.receiver()
+        }
     }
 
     /**
@@ -94,14 +100,15 @@ class Liveliness internal constructor(private val session: Session) {
     fun get(
         keyExpr: KeyExpr, callback: Callback<Reply>, timeout: Duration = Duration.ofMillis(10000)
     ) {
-        val zSession = session.zSession ?: throw Session.sessionClosedException
-        zSession.livelinessGet(
-            keyExpr.jniSel, keyExpr.jniStr, keyExpr.jniHandle,
-            timeout.toMillis(),
-            replyCallbackOf { callback.run(it) },
-            { },
-            throwZError0, throwZError
-        )
+        session.withSession { zSession ->
+            zSession.livelinessGet(
+                keyExpr.jniSel, keyExpr.jniStr, keyExpr.jniHandle,
+                timeout.toMillis(),
+                replyCallbackOf { callback.run(it) },
+                { },
+                throwZError0, throwZError
+            )
+        }
     }
 
     /**
@@ -117,15 +124,48 @@ class Liveliness internal constructor(private val session: Session) {
     fun <R> get(
         keyExpr: KeyExpr, handler: Handler<Reply, R>, timeout: Duration = Duration.ofMillis(10000)
     ): R {
-        val zSession = session.zSession ?: throw Session.sessionClosedException
-        zSession.livelinessGet(
-            keyExpr.jniSel, keyExpr.jniStr, keyExpr.jniHandle,
-            timeout.toMillis(),
-            replyCallbackOf { handler.handle(it) },
-            { handler.onClose() },
-            throwZError0, throwZError
-        )
-        return handler.receiver()
+        return session.withSession { zSession ->
+            zSession.livelinessGet(
+                keyExpr.jniSel, keyExpr.jniStr, keyExpr.jniHandle,
+                timeout.toMillis(),
+                replyCallbackOf { handler.handle(it) },
+                { handler.onClose() },
+                throwZError0, throwZError
+            )
+            handler.receiver()
+        }
+    }
+
+    /**
+     * Query the liveliness tokens with matching key expressions asynchronously.
+     *
+     * @param keyExpr The [KeyExpr] for the query.
+     * @param timeout Optional timeout of the query, defaults to 10 secs.
+     * @return A [CompletableFuture] of the replies, completed once the query is over, failed with a
+     *   [ZError] if the query could not be performed.
+     */
+    @JvmOverloads
+    fun getAsync(
+        keyExpr: KeyExpr,
+        timeout: Duration = Duration.ofMillis(10000),
+    ): CompletableFuture<List<Reply>> {
+        return startAsync(FutureHandler<Reply>()) { get(keyExpr, it, timeout) }
+    }
+
+    /**
+     * Query the liveliness tokens with matching key expressions asynchronously.
+     *
+     * @param keyExpr The [KeyExpr] for the query.
+     * @param callback [Callback] to handle the incoming replies.
+     * @param timeout Optional timeout of the query, defaults to 10 secs.
+     * @return A [CompletableFuture] completed once the query is over, failed with a [ZError] if the
+     *   query could not be performed.
+     */
+    @JvmOverloads
+    fun getAsync(
+        keyExpr: KeyExpr, callback: Callback<Reply>, timeout: Duration = Duration.ofMillis(10000)
+    ): CompletableFuture<Void?> {
+        return startAsync(CallbackFutureHandler(callback)) { get(keyExpr, it, timeout) }
     }
 
     /**
@@ -141,15 +181,16 @@ class Liveliness internal constructor(private val session: Session) {
         options: LivelinessSubscriberOptions = LivelinessSubscriberOptions()
     ): HandlerSubscriber<BlockingQueue<Optional<Sample>>> {
         val handler = BlockingQueueHandler<Sample>(LinkedBlockingDeque())
-        val zSession = session.zSession ?: throw Session.sessionClosedException
-        val zSubscriber = zSession.livelinessDeclareSubscriber(
-            keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-            options.history,
-            sampleCallbackOf { handler.handle(it) },
-            { handler.onClose() },
-            throwZError0, throwZError
-        )
-        return HandlerSubscriber(keyExpr, zSubscriber, handler.receiver())
+        return session.withSession { zSession ->
+            val zSubscriber = zSession.livelinessDeclareSubscriber(
+                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                options.history,
+                sampleCallbackOf { handler.handle(it) },
+                { handler.onClose() },
+                throwZError0, throwZError
+            )
+            HandlerSubscriber(keyExpr, zSubscriber, handler.receiver())
+        }
     }
 
     /**
@@ -166,15 +207,16 @@ class Liveliness internal constructor(private val session: Session) {
         callback: Callback<Sample>,
         options: LivelinessSubscriberOptions = LivelinessSubscriberOptions()
     ): CallbackSubscriber {
-        val zSession = session.zSession ?: throw Session.sessionClosedException
-        val zSubscriber = zSession.livelinessDeclareSubscriber(
-            keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-            options.history,
-            sampleCallbackOf { callback.run(it) },
-            { },
-            throwZError0, throwZError
-        )
-        return CallbackSubscriber(keyExpr, zSubscriber)
+        return session.withSession { zSession ->
+            val zSubscriber = zSession.livelinessDeclareSubscriber(
+                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                options.history,
+                sampleCallbackOf { callback.run(it) },
+                { },
+                throwZError0, throwZError
+            )
+            CallbackSubscriber(keyExpr, zSubscriber)
+        }
     }
 
     /**
@@ -192,15 +234,16 @@ class Liveliness internal constructor(private val session: Session) {
         handler: Handler<Sample, R>,
         options: LivelinessSubscriberOptions = LivelinessSubscriberOptions()
     ): HandlerSubscriber<R> {
-        val zSession = session.zSession ?: throw Session.sessionClosedException
-        val zSubscriber = zSession.livelinessDeclareSubscriber(
-            keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
-            options.history,
-            sampleCallbackOf { handler.handle(it) },
-            { handler.onClose() },
-            throwZError0, throwZError
-        )
-        return HandlerSubscriber(keyExpr, zSubscriber, handler.receiver())
+        return session.withSession { zSession ->
+            val zSubscriber = zSession.livelinessDeclareSubscriber(
+                keyExpr.jniSel, keyExpr.jniStr, keyExpr.cloneHandle(),
+                options.history,
+                sampleCallbackOf { handler.handle(it) },
+                { handler.onClose() },
+                throwZError0, throwZError
+            )
+            HandlerSubscriber(keyExpr, zSubscriber, handler.receiver())
+        }
     }
 }
 
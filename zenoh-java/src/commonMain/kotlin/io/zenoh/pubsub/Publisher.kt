@@ -29,7 +29,10 @@ import io.zenoh.jni.pubsub.Publisher as JniPublisher
 import io.zenoh.keyexpr.KeyExpr
 import io.zenoh.qos.CongestionControl
 import io.zenoh.qos.Priority
+import io.zenoh.session.DeclarationRegistry
 import io.zenoh.session.SessionDeclaration
+import io.zenoh.session.SessionLifecycle
+import java.nio.ByteBuffer
 import kotlin.Throws
 
 /**
@@ -72,12 +75,17 @@ class Publisher internal constructor(
     private var priority: Priority,
     val encoding: Encoding,
     private var zPublisher: JniPublisher?,
+    private val lifecycle: SessionLifecycle,
 ) : SessionDeclaration, AutoCloseable {
 
     companion object {
         private val publisherNotValid = ZError("Publisher is not valid.")
     }
 
+    // The publisher's (weak) entry in its session's declarations, dropped on undeclare.
+    @Volatile
+    internal var registration: DeclarationRegistry.Registration? = null
+
     /** Get the congestion control applied when routing the data. */
     fun congestionControl() = congestionControl
 
@@ -106,14 +114,27 @@ class Publisher internal constructor(
     @Throws(ZError::class)
     fun put(payload: String, options: PutOptions) = put(ZBytes.from(payload), options)
 
+    /**
+     * Performs a PUT operation on the specified [keyExpr] with the remaining region of [payload],
+     * heap or direct, without staging it through a caller-side array (see [ZBytes.wrap]).
+     */
+    @Throws(ZError::class)
+    fun put(payload: ByteBuffer) = put(ZBytes.wrap(payload))
+
+    /**
+     * Performs a PUT operation on the specified [keyExpr] with the remaining region of [payload],
+     * heap or direct, without staging it through a caller-side array (see [ZBytes.wrap]).
+     */
+    @Throws(ZError::class)
+    fun put(payload: ByteBuffer, options: PutOptions) = put(ZBytes.wrap(payload), options)
+
     /**
      * Performs a DELETE operation on the specified [keyExpr]
      */
     @JvmOverloads
     @Throws(ZError::class)
     fun delete(options: DeleteOptions = DeleteOptions()) {
-        val p = zPublisher ?: throw publisherNotValid
-        p.delete(options.attachment?.into()?.bytes, throwZError0, throwZError)
+        withPublisher { p -> p.delete(options.attachment?.into()?.bytes, throwZError0, throwZError) }
     }
 
     /**
@@ -128,22 +149,35 @@ class Publisher internal constructor(
     }
 
     override fun undeclare() {
+        registration?.remove()
+        registration = null
         zPublisher?.close()
         zPublisher = null
     }
 
     @Throws(ZError::class)
     private fun performPut(payload: IntoZBytes, encoding: Encoding?, attachment: IntoZBytes?) {
-        val p = zPublisher ?: throw publisherNotValid
         // `null` encoding = absent: the publisher's default encoding — set
         // NATIVELY at declare time — applies, and no encoding data crosses.
         // A per-put override rides this same call: bare handle, or (id,
         // schema) for a value-only (predefined) encoding.
-        p.put(
-            payload.into().bytes,
-            encoding.jniSel, encoding.jniId, encoding.jniSchema, encoding.jniHandle,
-            attachment?.into()?.bytes,
-            throwZError0, throwZError,
-        )
+        withPublisher { p ->
+            p.put(
+                payload.into().bytes,
+                encoding.jniSel, encoding.jniId, encoding.jniSchema, encoding.jniHandle,
+                attachment?.into()?.bytes,
+                throwZError0, throwZError,
+            )
+        }
+    }
+
+    /** Runs [body] on the native publisher, which the session does not release before it returns. */
+    private inline fun withPublisher(body: (JniPublisher) -> Unit) {
+        if (!lifecycle.enter()) throw publisherNotValid
+        try {
+            body(zPublisher ?: throw publisherNotValid)
+        } finally {
+            lifecycle.exit()
+        }
     }
 }
@@ -16,6 +16,7 @@ package io.zenoh.pubsub
 
 import io.zenoh.handlers.BlockingQueueHandler
 import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.session.DeclarationRegistry
 import io.zenoh.session.SessionDeclaration
 
 /**
@@ -69,11 +70,17 @@ sealed class Subscriber(
     val keyExpr: KeyExpr, private var zSubscriber: io.zenoh.jni.pubsub.Subscriber?
 ) : AutoCloseable, SessionDeclaration {
 
+    // Set by the declaring session; removed from it on undeclare.
+    @Volatile
+    internal var registration: DeclarationRegistry.Registration? = null
+
     fun isValid(): Boolean {
         return zSubscriber != null
     }
 
     override fun undeclare() {
+        registration?.remove()
+        registration = null
         zSubscriber?.close()
         zSubscriber = null
     }
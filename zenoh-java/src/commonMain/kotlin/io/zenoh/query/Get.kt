@@ -17,6 +17,7 @@ package io.zenoh.query
 import io.zenoh.bytes.Encoding
 import io.zenoh.bytes.IntoZBytes
 import io.zenoh.bytes.ZBytes
+import io.zenoh.keyexpr.KeyExprCache
 import io.zenoh.qos.QoS
 import java.time.Duration
 
@@ -31,6 +32,7 @@ import java.time.Duration
  * @param attachment Optional attachment.
  * @param qos The intended [QoS] for the query.
  * @param acceptReplies The [ReplyKeyExpr] accepted by the query.
+ * @param keyExprCache Optional [KeyExprCache] interning the replies' key expressions.
  */
 data class GetOptions(
     var timeout: Duration = Duration.ofMillis(10000),
@@ -40,7 +42,8 @@ data class GetOptions(
     var encoding: Encoding? = null,
     var attachment: IntoZBytes? = null,
     var qos: QoS = QoS.defaultRequest,
-    var acceptReplies: ReplyKeyExpr = ReplyKeyExpr.MATCHING_QUERY
+    var acceptReplies: ReplyKeyExpr = ReplyKeyExpr.MATCHING_QUERY,
+    var keyExprCache: KeyExprCache? = null
 ) {
     fun setPayload(payload: String) = apply { this.payload = ZBytes.from(payload) }
     fun setAttachment(attachment: String) = apply { this.attachment = ZBytes.from(attachment) }
@@ -28,15 +28,22 @@ import io.zenoh.exceptions.throwZError
 import io.zenoh.exceptions.throwZError0
 import io.zenoh.handlers.BlockingQueueHandler
 import io.zenoh.handlers.Callback
+import io.zenoh.handlers.CallbackFutureHandler
+import io.zenoh.handlers.FutureHandler
 import io.zenoh.handlers.Handler
+import io.zenoh.handlers.startAsync
 import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.keyexpr.KeyExprCache
 import io.zenoh.qos.CongestionControl
 import io.zenoh.qos.Priority
 import io.zenoh.qos.QoS
+import io.zenoh.session.DeclarationRegistry
 import io.zenoh.session.SessionDeclaration
+import io.zenoh.session.SessionLifecycle
 import java.time.Duration
 import java.util.Optional
 import java.util.concurrent.BlockingQueue
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.LinkedBlockingDeque
 
 /**
@@ -62,17 +69,28 @@ import java.util.concurrent.LinkedBlockingDeque
  * @param keyExpr The [KeyExpr] of the querier.
  * @param qos The [QoS] configuration of the querier.
  */
-class Querier internal constructor(val keyExpr: KeyExpr, val qos: QoS, private var zQuerier: io.zenoh.jni.query.Querier?) :
-    SessionDeclaration, AutoCloseable {
+class Querier internal constructor(
+    val keyExpr: KeyExpr,
+    val qos: QoS,
+    private var zQuerier: io.zenoh.jni.query.Querier?,
+    private val lifecycle: SessionLifecycle,
+) : SessionDeclaration, AutoCloseable {
+
+    // Weakly registered, as for a publisher: see [io.zenoh.Session.declareQuerier].
+    @Volatile
+    internal var registration: DeclarationRegistry.Registration? = null
 
     /**
      * Get options for the [Querier].
+     *
+     * @param keyExprCache Optional [KeyExprCache] interning the replies' key expressions.
      */
     data class GetOptions(
         var parameters: Parameters? = null,
         var payload: IntoZBytes? = null,
         var encoding: Encoding? = null,
-        var attachment: IntoZBytes? = null
+        var attachment: IntoZBytes? = null,
+        var keyExprCache: KeyExprCache? = null
     ) {
         fun setPayload(payload: String) = apply { this.payload = ZBytes.from(payload) }
         fun setAttachment(attachment: String) = apply { this.attachment = ZBytes.from(attachment) }
@@ -119,6 +137,30 @@ class Querier internal constructor(val keyExpr: KeyExpr, val qos: QoS, private v
         return resolveGetWithHandler(handler, options)
     }
 
+    /**
+     * Perform a get operation to the [keyExpr] from the Querier asynchronously, the returned future
+     * being completed with all the replies once the query is over.
+     *
+     * @param options [GetOptions] to configure the get operation.
+     * @return A [CompletableFuture] of the replies, failed with a [ZError] if the query could not be performed.
+     */
+    fun getAsync(options: GetOptions): CompletableFuture<List<Reply>> {
+        return startAsync(FutureHandler<Reply>()) { resolveGetWithHandler(it, options) }
+    }
+
+    /**
+     * Perform a get operation to the [keyExpr] from the Querier asynchronously, handling the incoming
+     * replies with the [callback] provided.
+     *
+     * @param callback [Callback] to handle the incoming replies.
+     * @param options [GetOptions] to configure the get operation.
+     * @return A [CompletableFuture] completed once the query is over, failed with a [ZError] if the query
+     *   could not be performed.
+     */
+    fun getAsync(callback: Callback<Reply>, options: GetOptions): CompletableFuture<Void?> {
+        return startAsync(CallbackFutureHandler(callback)) { resolveGetWithHandler(it, options) }
+    }
+
     /**
      * Get the [QoS.congestionControl] of the querier.
      */
@@ -134,6 +176,8 @@ class Querier internal constructor(val keyExpr: KeyExpr, val qos: QoS, private v
      * performed on it will fail.
      */
     override fun undeclare() {
+        registration?.remove()
+        registration = null
         zQuerier?.close()
         zQuerier = null
     }
@@ -147,31 +191,43 @@ class Querier internal constructor(val keyExpr: KeyExpr, val qos: QoS, private v
     }
 
     private fun resolveGetWithCallback(callback: Callback<Reply>, options: GetOptions) {
-        val q = zQuerier ?: throw ZError("Querier is not valid.")
-        q.get(
-            options.parameters?.toString(),
-            options.payload?.into()?.bytes,
-            options.encoding.jniSel, options.encoding.jniId, options.encoding.jniSchema, options.encoding.jniHandle,
-            options.attachment?.into()?.bytes,
-            replyCallbackOf { callback.run(it) },
-            { },
-            throwZError0, throwZError
-        )
+        withQuerier { q ->
+            q.get(
+                options.parameters?.toString(),
+                options.payload?.into()?.bytes,
+                options.encoding.jniSel, options.encoding.jniId, options.encoding.jniSchema, options.encoding.jniHandle,
+                options.attachment?.into()?.bytes,
+                replyCallbackOf(options.keyExprCache) { callback.run(it) },
+                { },
+                throwZError0, throwZError
+            )
+        }
     }
 
     private fun <R> resolveGetWithHandler(handler: Handler<Reply, R>, options: GetOptions): R {
-        val q = zQuerier ?: throw ZError("Querier is not valid.")
-        q.get(
-            options.parameters?.toString(),
-            options.payload?.into()?.bytes,
-            options.encoding.jniSel, options.encoding.jniId, options.encoding.jniSchema, options.encoding.jniHandle,
-            options.attachment?.into()?.bytes,
-            replyCallbackOf { handler.handle(it) },
-            { handler.onClose() },
-            throwZError0, throwZError
-        )
+        withQuerier { q ->
+            q.get(
+                options.parameters?.toString(),
+                options.payload?.into()?.bytes,
+                options.encoding.jniSel, options.encoding.jniId, options.encoding.jniSchema, options.encoding.jniHandle,
+                options.attachment?.into()?.bytes,
+                replyCallbackOf(options.keyExprCache) { handler.handle(it) },
+                { handler.onClose() },
+                throwZError0, throwZError
+            )
+        }
         return handler.receiver()
     }
+
+    /** Runs [body] on the native querier, which the session does not release before it returns. */
+    private inline fun withQuerier(body: (io.zenoh.jni.query.Querier) -> Unit) {
+        if (!lifecycle.enter()) throw ZError("Querier is not valid.")
+        try {
+            body(zQuerier ?: throw ZError("Querier is not valid."))
+        } finally {
+            lifecycle.exit()
+        }
+    }
 }
 
 /**
@@ -26,6 +26,7 @@ import io.zenoh.exceptions.ZError
 import io.zenoh.exceptions.throwZError
 import io.zenoh.exceptions.throwZError0
 import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.keyexpr.KeyExprCache
 import io.zenoh.keyexpr.jniSel
 import io.zenoh.keyexpr.jniStr
 import io.zenoh.keyexpr.jniHandle
@@ -61,7 +62,8 @@ class Query internal constructor(
          * leaves (delivered in ONE JNI crossing as raw handles + primitives —
          * heavy data is read lazily on demand). `zq` is the owned query
          * handle, **retained** because the reply methods consume it (replying
-         * keeps working after the callback returns).
+         * keeps working after the callback returns). The key expression is
+         * interned in [keyExprCache], when one is given.
          */
         fun fromParts(
             keStr: String,
@@ -72,8 +74,9 @@ class Query internal constructor(
             attachH: io.zenoh.jni.bytes.ZBytes?,
             acceptsRepliesInt: Int,
             zq: io.zenoh.jni.query.Query,
+            keyExprCache: KeyExprCache? = null,
         ): Query {
-            val ke = KeyExpr(keStr)
+            val ke = keyExprCache?.intern(keStr) ?: KeyExpr(keStr)
             // The parameters string is ATTACKER-CONTROLLED (the Rust layer
             // forwards any selector parameters untouched) — the shared
             // string-backed Parameters accepts any input, never throwing.
@@ -83,9 +86,7 @@ class Query internal constructor(
                 ke,
                 selector,
                 payloadH?.let { ZBytes.fromHandle(it) },
-                // Raw bytes on the wire; decoded lossily since this SDK's
-                // Encoding carries a String (see Sample.fromParts).
-                encId?.let { Encoding(it, encSchema?.toString(Charsets.UTF_8)) },
+                encId?.let { Encoding.received(it, encSchema) },
                 attachH?.let { ZBytes.fromHandle(it) },
                 io.zenoh.jni.query.ReplyKeyExpr.fromInt(acceptsRepliesInt).toPublic(),
                 zq
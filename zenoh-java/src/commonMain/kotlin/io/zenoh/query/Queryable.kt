@@ -17,6 +17,8 @@ package io.zenoh.query
 import io.zenoh.handlers.BlockingQueueHandler
 import io.zenoh.handlers.Handler
 import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.keyexpr.KeyExprCache
+import io.zenoh.session.DeclarationRegistry
 import io.zenoh.session.SessionDeclaration
 
 /**
@@ -61,6 +63,10 @@ sealed class Queryable(
     val keyExpr: KeyExpr, private var zQueryable: io.zenoh.jni.query.Queryable?
 ) : AutoCloseable, SessionDeclaration {
 
+    // Set by the declaring session; removed from it on undeclare.
+    @Volatile
+    internal var registration: DeclarationRegistry.Registration? = null
+
     fun isValid(): Boolean {
         return zQueryable != null
     }
@@ -69,6 +75,8 @@ sealed class Queryable(
      * Undeclares the queryable.
      */
     override fun undeclare() {
+        registration?.remove()
+        registration = null
         zQueryable?.close()
         zQueryable = null
     }
@@ -122,5 +130,6 @@ class HandlerQueryable<R> internal constructor(keyExpr: KeyExpr, zQueryable: io.
  * Options for configuring a [Queryable].
  *
  * @param complete The completeness of the information the queryable provides.
+ * @param keyExprCache Optional [KeyExprCache] interning the key expressions of the received queries.
  */
-data class QueryableOptions(var complete: Boolean = false)
+data class QueryableOptions(var complete: Boolean = false, var keyExprCache: KeyExprCache? = null)
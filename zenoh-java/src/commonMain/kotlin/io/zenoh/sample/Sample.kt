@@ -19,6 +19,7 @@ import io.zenoh.qos.QoS
 import io.zenoh.qos.CongestionControl
 import io.zenoh.qos.Priority
 import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.keyexpr.KeyExprCache
 import io.zenoh.bytes.Encoding
 import io.zenoh.bytes.ZBytes
 import io.zenoh.time.Timestamp
@@ -64,7 +65,8 @@ data class Sample(
          * schema-string re-decode it saved on the resent fraction. The
          * trailing `reliability` / `sourceInfo` leaves are part of the
          * generated decomposition but are not surfaced on the public [Sample]
-         * type.
+         * type. The key expression is interned in [keyExprCache], when one is
+         * given.
          */
         @Suppress("UNUSED_PARAMETER")
         fun fromParts(
@@ -80,14 +82,12 @@ data class Sample(
             attachH: io.zenoh.jni.bytes.ZBytes?,
             reliabilityInt: Int,
             sourceInfo: io.zenoh.jni.sample.SourceInfo?,
+            keyExprCache: KeyExprCache? = null,
         ): Sample = Sample(
-            KeyExpr(keStr),
+            keyExprCache?.intern(keStr) ?: KeyExpr(keStr),
             ZBytes.fromHandle(payloadH),
-            // A schema is raw bytes on the wire and zenoh does not require it
-            // to be UTF-8; this SDK's Encoding carries a String, so a schema
-            // that is not valid UTF-8 decodes lossily rather than throwing on
-            // a received message.
-            Encoding(encId, encSchema?.toString(Charsets.UTF_8)),
+            // Interned: the schema bytes are decoded once per distinct encoding.
+            Encoding.received(encId, encSchema),
             io.zenoh.jni.sample.SampleKind.fromInt(kindInt).toPublic(),
             timestamp?.let { Timestamp.fromJni(it) },
             QoS(
@@ -0,0 +1,34 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.session
+
+/**
+ * Options for the automatic declaration of frequently used key expressions by a [io.zenoh.Session].
+ *
+ * When given to [io.zenoh.Zenoh.open], the session counts the key expressions its [io.zenoh.Session.put]
+ * and [io.zenoh.Session.delete] are given as plain strings, and declares a key once it has been used
+ * [threshold] times — from then on the key is sent through its wire declaration (a compact id) instead
+ * of as a string that is re-parsed natively on every call, as if it had been declared with
+ * [io.zenoh.Session.declareKeyExpr]. At most [capacity] keys are kept declared: one not used recently
+ * is undeclared to make room for a new one, once no operation is still using it.
+ *
+ * Auto-declaration suits workloads with many distinct but repeated keys that are not worth declaring
+ * by hand. Keys already declared by the application are always used as they are.
+ *
+ * @param threshold The number of uses after which a key expression is declared.
+ * @param capacity The maximum number of key expressions kept declared.
+ */
+data class AutoDeclarationOptions(var threshold: Int = 16, var capacity: Int = 256)
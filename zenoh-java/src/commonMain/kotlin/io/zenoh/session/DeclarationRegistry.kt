@@ -0,0 +1,96 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.session
+
+import java.lang.ref.ReferenceQueue
+import java.lang.ref.WeakReference
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * The declarations bound to a session, undeclared together when it closes.
+ *
+ * Each declaration is registered once and keeps the [Registration] it gets back, which it
+ * [Registration.remove]s when undeclared — in O(1), whatever the number of declarations. A
+ * declaration registered [weakly][registerWeak] does not outlive its last reference: once it is
+ * collected, its registration is dropped on the next registration. Registering and removing are
+ * lock-free, so declarations may be made from any number of threads at once.
+ */
+internal class DeclarationRegistry {
+
+    /** The registration of one declaration. Equality is identity, as the registry relies on. */
+    internal interface Registration {
+
+        /** The declaration, unless it was registered weakly and has been collected. */
+        val declaration: SessionDeclaration?
+
+        /** Removes the registration from the registry; idempotent. */
+        fun remove()
+    }
+
+    private inner class StrongRegistration(override val declaration: SessionDeclaration) : Registration {
+        override fun remove() {
+            registrations.remove(this)
+        }
+    }
+
+    private inner class WeakRegistration(declaration: SessionDeclaration) :
+        WeakReference<SessionDeclaration>(declaration, collected), Registration {
+
+        override val declaration: SessionDeclaration?
+            get() = get()
+
+        override fun remove() {
+            registrations.remove(this)
+        }
+    }
+
+    private val registrations: MutableSet<Registration> = ConcurrentHashMap.newKeySet()
+
+    private val collected = ReferenceQueue<SessionDeclaration>()
+
+    /** Registers [declaration], kept alive by the registry until it is removed. */
+    fun registerStrong(declaration: SessionDeclaration): Registration =
+        register(StrongRegistration(declaration))
+
+    /** Registers [declaration] without keeping it alive. */
+    fun registerWeak(declaration: SessionDeclaration): Registration =
+        register(WeakRegistration(declaration))
+
+    private fun register(registration: Registration): Registration {
+        pruneCollected()
+        registrations.add(registration)
+        return registration
+    }
+
+    /** Undeclares and removes every registered declaration. */
+    fun undeclareAll() {
+        for (registration in registrations) {
+            registration.remove()
+            registration.declaration?.undeclare()
+        }
+        pruneCollected()
+    }
+
+    /** The number of registrations, collected ones not yet pruned included. */
+    fun size(): Int = registrations.size
+
+    private fun pruneCollected() {
+        while (true) {
+            val reference = collected.poll() ?: return
+            (reference as WeakRegistration).remove()
+        }
+    }
+}
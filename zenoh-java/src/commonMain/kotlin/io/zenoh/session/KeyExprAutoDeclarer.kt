@@ -0,0 +1,181 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.session
+
+import io.zenoh.exceptions.ZError
+import io.zenoh.exceptions.throwZError
+import io.zenoh.exceptions.throwZError0
+import io.zenoh.keyexpr.KeyExpr
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * The bookkeeping behind [AutoDeclarationOptions]: usage counts of the string-backed key
+ * expressions a session sends, and the set of the ones it declared.
+ *
+ * A declared key is handed out by [acquire] and handed back by [release]. Each declaration is
+ * reference counted — one reference for the set, one per operation using it — and undeclared by
+ * whoever drops the last one, so a send never races the undeclaration of the key it is sending on.
+ *
+ * Sends on a declared key only touch a [ConcurrentHashMap] and the declaration's own counter, so
+ * concurrent sends on hot keys do not serialize. Declaring and undeclaring cross JNI without any
+ * lock held; only picking the keys to evict once the set is over capacity is serialized. Eviction
+ * is a second-chance approximation of least-recently-used: a key used since the last sweep is
+ * spared once.
+ */
+internal class KeyExprAutoDeclarer(
+    private val zSession: io.zenoh.jni.session.Session,
+    options: AutoDeclarationOptions,
+) {
+
+    internal class Declared(val key: String, val keyExpr: KeyExpr) {
+
+        // The set's reference plus one per operation in flight; zero once it is to be undeclared.
+        private val refs = AtomicInteger(1)
+
+        // Set on use, cleared by the eviction sweep. Only written when it changes, so that the
+        // sends sharing a hot key do not keep invalidating each other's cache line.
+        @Volatile
+        var used = true
+
+        fun retain(): Boolean {
+            while (true) {
+                val current = refs.get()
+                if (current == 0) return false
+                if (refs.compareAndSet(current, current + 1)) return true
+            }
+        }
+
+        /** Drops a reference; true when it was the last one. */
+        fun drop(): Boolean = refs.decrementAndGet() == 0
+    }
+
+    private val threshold = options.threshold
+    private val capacity = options.capacity
+
+    private val declared = ConcurrentHashMap<String, Declared>()
+
+    // Only the candidates' counts are kept: past the bound, arbitrary candidates are forgotten, so
+    // a key seen once among many others ages out.
+    private val counts = ConcurrentHashMap<String, AtomicInteger>()
+
+    private val evictionLock = Any()
+
+    @Volatile
+    private var closed = false
+
+    private companion object {
+        const val CANDIDATES_PER_SLOT = 4
+    }
+
+    /**
+     * Counts a use of [keyExpr] and returns its declaration when it has one (declaring it now if it
+     * just reached the threshold); null when it is to be sent as a string. A non-null result must be
+     * handed back with [release] once the operation is done.
+     */
+    fun acquire(keyExpr: KeyExpr): Declared? {
+        if (closed) return null
+        val key = keyExpr.toString()
+        declared[key]?.let {
+            if (it.retain()) {
+                if (!it.used) it.used = true
+                return it
+            }
+        }
+        val count = counts[key] ?: AtomicInteger().let { counts.putIfAbsent(key, it) ?: it.also { trimCounts() } }
+        // Exactly one caller sees the threshold reached and removes the count: it declares the key.
+        if (count.incrementAndGet() != threshold || !counts.remove(key, count)) return null
+        return declare(key)
+    }
+
+    fun release(declaration: Declared) {
+        if (declaration.drop()) undeclare(declaration)
+    }
+
+    /** Undeclares the idle declarations; the ones still in use are undeclared by their last [release]. */
+    fun close() {
+        closed = true
+        for ((key, declaration) in declared) {
+            if (declared.remove(key, declaration)) release(declaration)
+        }
+        counts.clear()
+    }
+
+    private fun declare(key: String): Declared? {
+        val handle = try {
+            zSession.declareKeyexpr(key, throwZError0, throwZError)
+        } catch (e: ZError) {
+            // Declaring is only an optimization: the key keeps going out as a string.
+            return null
+        }
+        val declaration = Declared(key, KeyExpr(key, handle))
+        declaration.retain()
+        declared.putIfAbsent(key, declaration)?.let { existing ->
+            // Another caller declared the same key meanwhile: keep theirs.
+            undeclare(declaration)
+            return if (existing.retain()) existing else null
+        }
+        if (closed) {
+            // Raced with close(), which may not have seen this declaration.
+            if (declared.remove(key, declaration)) release(declaration)
+        } else if (declared.size > capacity) {
+            evict()
+        }
+        return declaration
+    }
+
+    private fun evict() {
+        val victims = ArrayList<Declared>()
+        synchronized(evictionLock) {
+            var excess = declared.size - capacity
+            while (excess > 0) {
+                val victim = sweep() ?: break
+                if (declared.remove(victim.key, victim)) {
+                    victims.add(victim)
+                    excess--
+                }
+            }
+        }
+        victims.forEach { release(it) }
+    }
+
+    /** A declaration not used since the previous sweep, clearing the use marks it passes. */
+    private fun sweep(): Declared? {
+        for (declaration in declared.values) {
+            if (!declaration.used) return declaration
+            declaration.used = false
+        }
+        return declared.values.firstOrNull()
+    }
+
+    private fun trimCounts() {
+        val iterator = counts.keys.iterator()
+        while (counts.size > CANDIDATES_PER_SLOT * capacity && iterator.hasNext()) {
+            iterator.next()
+            iterator.remove()
+        }
+    }
+
+    private fun undeclare(declaration: Declared) {
+        val handle = declaration.keyExpr.handle ?: return
+        declaration.keyExpr.handle = null
+        try {
+            zSession.undeclareKeyexpr(handle, throwZError0, throwZError)
+        } catch (e: ZError) {
+            // The session is closing or closed: its declarations go with it.
+        }
+    }
+}
@@ -0,0 +1,120 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh.session
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.LongAdder
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * The lifecycle of a session — open, closing, then closed — and the guard of the operations that
+ * use its native handle.
+ *
+ * Every operation is bracketed by [enter] and [exit]: a striped in-flight count, which threads
+ * increment without contending with each other, and a read of the state. Closing first moves the
+ * state to closing, after which [enter] fails, then waits for the operations already in flight to
+ * exit: the native handle is only released once nothing uses it any more. The count and the state
+ * are each written before the other is read, so an operation either is counted by the closer or
+ * sees the session closing.
+ *
+ * An operation may close its own session, as a subscriber's callback run by a local put does: the
+ * operations in flight on the closing thread cannot be waited for, so the release is deferred to the
+ * exit of the outermost of them, and the handle outlives every operation that may still use it.
+ */
+internal class SessionLifecycle {
+
+    private companion object {
+        const val OPEN = 0
+        const val CLOSING = 1
+        const val CLOSED = 2
+
+        /** Busy-waits before parking, when closing: operations in flight are typically short. */
+        const val SPINS = 128
+        const val PARK_NANOS = 10_000L
+    }
+
+    private val state = AtomicInteger(OPEN)
+
+    private val inFlight = LongAdder()
+
+    private val depth = ThreadLocal.withInitial { IntArray(1) }
+
+    // The release of a session closed from within its own operations, and the thread running them:
+    // only that thread's outermost exit runs it, the operations of the others having all exited. Both
+    // are written by the owner before it exits, so another thread never sees itself as the owner.
+    private var deferredRelease: (() -> Unit)? = null
+    @Volatile
+    private var deferredOwner: Thread? = null
+
+    /** Whether the session is closing or closed. */
+    val isClosed: Boolean
+        get() = state.get() != OPEN
+
+    /** Starts an operation; returns false, without starting it, when the session is closing or closed. */
+    fun enter(): Boolean {
+        inFlight.increment()
+        if (state.get() != OPEN) {
+            inFlight.decrement()
+            return false
+        }
+        depth.get()[0]++
+        return true
+    }
+
+    /** Ends an operation started by a successful [enter]. */
+    fun exit() {
+        val d = depth.get()
+        d[0]--
+        inFlight.decrement()
+        if (d[0] == 0 && deferredOwner === Thread.currentThread()) {
+            val release = deferredRelease!!
+            deferredRelease = null
+            deferredOwner = null
+            finish(release)
+        }
+    }
+
+    /**
+     * Moves the session to closing, waits for the operations in flight on other threads to exit,
+     * then runs [release] and marks the session closed; does nothing when the session was already
+     * closing or closed.
+     *
+     * When called from within an operation on the session, [release] runs once the outermost
+     * operation of the calling thread exits, after this function has returned.
+     */
+    fun close(release: () -> Unit) {
+        if (!state.compareAndSet(OPEN, CLOSING)) return
+        val own = depth.get()[0].toLong()
+        var spins = 0
+        while (inFlight.sum() > own) {
+            if (spins++ < SPINS) Thread.onSpinWait() else LockSupport.parkNanos(PARK_NANOS)
+        }
+        if (own == 0L) {
+            finish(release)
+        } else {
+            deferredRelease = release
+            deferredOwner = Thread.currentThread()
+        }
+    }
+
+    private fun finish(release: () -> Unit) {
+        try {
+            release()
+        } finally {
+            state.set(CLOSED)
+        }
+    }
+}
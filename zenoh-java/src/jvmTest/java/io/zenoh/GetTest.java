@@ -16,9 +16,15 @@ import org.junit.runners.JUnit4;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(JUnit4.class)
 public class GetTest {
@@ -87,6 +93,43 @@ public class GetTest {
         }
     }
 
+    @Test
+    public void getAsync_completesWithRepliesTest() throws Exception {
+        var getOptions = new GetOptions();
+        getOptions.setTimeout(Duration.ofMillis(1000));
+        List<CompletableFuture<List<Reply>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(session.getAsync(selector, getOptions));
+        }
+        for (CompletableFuture<List<Reply>> future : futures) {
+            List<Reply> replies = future.get(5, TimeUnit.SECONDS);
+            assertEquals(1, replies.size());
+            Sample sample = ((Reply.Success) replies.get(0)).getSample();
+            assertEquals(payload, sample.getPayload());
+            assertEquals(selector.getKeyExpr(), sample.getKeyExpr());
+        }
+    }
+
+    @Test
+    public void getAsync_streamsRepliesToCallbackTest() throws Exception {
+        var getOptions = new GetOptions();
+        getOptions.setTimeout(Duration.ofMillis(1000));
+        List<Reply> replies = new ArrayList<>();
+        session.getAsync(selector, replies::add, getOptions).get(5, TimeUnit.SECONDS);
+        assertEquals(1, replies.size());
+        assertTrue(replies.get(0) instanceof Reply.Success);
+    }
+
+    @Test
+    public void getAsync_failsOnClosedSessionTest() throws ZError {
+        Session closed = Zenoh.open(Config.loadDefault());
+        closed.close();
+        CompletableFuture<List<Reply>> future = closed.getAsync(selector);
+        assertTrue(future.isCompletedExceptionally());
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof ZError);
+    }
+
     @Test
     public void getWithSelectorParamsTest() throws ZError {
         Parameters[] receivedParams = new Parameters[1];
@@ -0,0 +1,88 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh;
+
+import io.zenoh.exceptions.ZError;
+import io.zenoh.keyexpr.KeyExpr;
+import io.zenoh.keyexpr.KeyFormat;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class KeyFormatTest {
+
+    @Test
+    public void buildTest() throws ZError {
+        KeyFormat format = KeyFormat.compile("robot/${id:*}/joint/${n:*}/state");
+        assertEquals(List.of("id", "n"), format.getFields());
+        assertEquals(KeyExpr.tryFrom("robot/r1/joint/3/state"), format.build("r1", 3));
+
+        KeyFormat.Formatter formatter = format.formatter().set("id", "r1");
+        assertThrows(ZError.class, formatter::build);
+        assertEquals(KeyExpr.tryFrom("robot/r1/joint/4/state"), formatter.set("n", 4).build());
+        assertEquals(KeyExpr.tryFrom("robot/r1/joint/5/state"), formatter.set("n", 5).build());
+        assertThrows(ZError.class, () -> formatter.set("unknown", 1));
+
+        // A value must belong to its field's pattern, and be a valid key expression.
+        assertThrows(ZError.class, () -> format.build("r1/r2", 3));
+        assertThrows(ZError.class, () -> format.build("**", 3));
+        assertThrows(ZError.class, () -> format.build("r?", 3));
+        assertEquals(KeyExpr.tryFrom("robot/*/joint/3/state"), format.build("*", 3));
+    }
+
+    @Test
+    public void defaultsAndMultiChunkFieldsTest() throws ZError {
+        KeyFormat format = KeyFormat.compile("${prefix:**#site}/sensor/${name:$*_temp}/${rest:**}");
+        assertEquals(KeyExpr.tryFrom("site/sensor/room_temp/a/b"), format.build(null, "room_temp", "a/b"));
+        assertEquals(KeyExpr.tryFrom("a/b/sensor/room_temp"), format.build("a/b", "room_temp", ""));
+        assertThrows(ZError.class, () -> format.build(null, "room", "a"));
+    }
+
+    @Test
+    public void parseTest() throws ZError {
+        KeyFormat format = KeyFormat.compile("robot/${id:*}/joint/${n:*}/state");
+        KeyFormat.Parsed parsed = format.parse(KeyExpr.tryFrom("robot/r1/joint/3/state"));
+        assertEquals("r1", parsed.get("id"));
+        assertEquals("3", parsed.get("n"));
+        assertThrows(ZError.class, () -> format.parse(KeyExpr.tryFrom("robot/r1/joint/3/command")));
+        assertThrows(ZError.class, () -> format.parse(KeyExpr.tryFrom("robot/**/state")));
+
+        KeyFormat nested = KeyFormat.compile("${prefix:**}/sensor/${name:*}/${rest:**}");
+        assertEquals(Arrays.asList("a/b", "t", null), nested.parse(KeyExpr.tryFrom("a/b/sensor/t")).values());
+        assertEquals(Arrays.asList(null, "t", "x/y"), nested.parse(KeyExpr.tryFrom("sensor/t/x/y")).values());
+    }
+
+    @Test
+    public void invalidFormatsTest() {
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/state"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/${id:*"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/r${id:*}"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/${id:*}/${id:*}"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/${id:a?b}"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/${id:*#a/b}"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("/robot/${id:*}"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/${id:*}/"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot//${id:*}"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/${id:*}//${n:*}"));
+        assertThrows(ZError.class, () -> KeyFormat.compile("robot/${id:*}/joint//state"));
+    }
+}
@@ -21,10 +21,15 @@ import io.zenoh.keyexpr.KeyExpr;
 import io.zenoh.pubsub.PutOptions;
 import io.zenoh.pubsub.Subscriber;
 import io.zenoh.sample.Sample;
+import io.zenoh.session.AutoDeclarationOptions;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -51,4 +56,55 @@ public class PutTest {
         assertNotNull(receivedSample[0]);
         assertEquals(TEST_PAYLOAD, receivedSample[0].getPayload());
     }
+
+    @Test
+    public void putDirectByteBufferTest() throws ZError {
+        Session session = Zenoh.open(Config.loadDefault());
+        Sample[] receivedSample = new Sample[1];
+        var keyExpr = KeyExpr.tryFrom(TEST_KEY_EXP);
+
+        Subscriber subscriber =
+                session.declareSubscriber(keyExpr, sample -> receivedSample[0] = sample);
+
+        // Only the region between position and limit is sent.
+        ByteBuffer frame = ByteBuffer.allocateDirect(16);
+        frame.put("xxHelloyy".getBytes());
+        frame.flip();
+        frame.position(2);
+        frame.limit(7);
+        session.put(keyExpr, frame);
+        subscriber.close();
+        session.close();
+        assertNotNull(receivedSample[0]);
+        assertEquals(TEST_PAYLOAD, receivedSample[0].getPayload());
+        // The caller's buffer state is left untouched.
+        assertEquals(2, frame.position());
+        assertEquals(7, frame.limit());
+    }
+
+    @Test
+    public void putWithAutoDeclarationTest() throws ZError {
+        // Two hot keys competing for a single declaration slot: each put may declare a
+        // key and evict the other, and every sample must still arrive on its own key.
+        Session session = Zenoh.open(Config.loadDefault(), new AutoDeclarationOptions(2, 1));
+        List<String> receivedKeys = new ArrayList<>();
+        var keyExprA = KeyExpr.tryFrom("example/testing/auto/a");
+        var keyExprB = KeyExpr.tryFrom("example/testing/auto/b");
+
+        Subscriber subscriber = session.declareSubscriber(
+                KeyExpr.tryFrom("example/testing/auto/*"),
+                sample -> receivedKeys.add(sample.getKeyExpr().toString()));
+
+        List<String> expectedKeys = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            var keyExpr = i % 3 == 2 ? keyExprB : keyExprA;
+            session.put(keyExpr, TEST_PAYLOAD);
+            expectedKeys.add(keyExpr.toString());
+        }
+        session.delete(keyExprB);
+        expectedKeys.add(keyExprB.toString());
+        subscriber.close();
+        session.close();
+        assertEquals(expectedKeys, receivedKeys);
+    }
 }
@@ -22,6 +22,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.Assert.*;
 
 @RunWith(JUnit4.class)
@@ -82,4 +87,46 @@ public class SessionTest {
         assertThrows(ZError.class, () -> session.declareQueryable(testKeyExpr));
         assertThrows(ZError.class, () -> session.declareSubscriber(testKeyExpr));
     }
+
+    @Test
+    public void sessionClose_concurrentPutsAreDrainedTest() throws Exception {
+        Session session = Zenoh.open(Config.loadDefault());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                try {
+                    // Puts on a closing or closed session are dropped, never failing.
+                    while (!session.isClosed()) {
+                        session.put(testKeyExpr, "Test");
+                    }
+                    session.put(testKeyExpr, "Test");
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        started.await();
+        session.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertTrue(session.isClosed());
+        assertThrows(ZError.class, () -> session.declarePublisher(testKeyExpr));
+        session.close();
+    }
+
+    @Test
+    public void sessionClose_fromACallbackTest() throws ZError {
+        Session session = Zenoh.open(Config.loadDefault());
+        // The subscriber runs within the put, which must not wait for itself to close the session.
+        session.declareSubscriber(testKeyExpr, sample -> session.close());
+        session.put(testKeyExpr, "Test");
+        assertTrue(session.isClosed());
+    }
 }
@@ -17,7 +17,9 @@ package io.zenoh;
 import io.zenoh.bytes.Encoding;
 import io.zenoh.bytes.ZBytes;
 import io.zenoh.exceptions.ZError;
+import io.zenoh.handlers.FlowHandler;
 import io.zenoh.handlers.Handler;
+import io.zenoh.handlers.OverflowPolicy;
 import io.zenoh.keyexpr.KeyExpr;
 import io.zenoh.pubsub.PutOptions;
 import io.zenoh.qos.CongestionControl;
@@ -32,9 +34,16 @@ import org.junit.runners.JUnit4;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(JUnit4.class)
@@ -184,6 +193,114 @@ public class SubscriberTest {
 
         subscriber.close();
     }
+
+    @Test
+    public void subscriber_releaseFreesOnlyUnreadPayloads() throws ZError {
+        var receivedSamples = new ArrayList<Sample>();
+        var subscriber = session.declareSubscriber(testKeyExpr, receivedSamples::add);
+
+        byte[] content = new byte[100];
+        session.put(testKeyExpr, ZBytes.from(content));
+        session.put(testKeyExpr, ZBytes.from(content));
+        assertEquals(2, receivedSamples.size());
+
+        ZBytes unread = receivedSamples.get(0).getPayload();
+        unread.release();
+        assertThrows(IllegalStateException.class, unread::toBytes);
+
+        ZBytes read = receivedSamples.get(1).getPayload();
+        byte[] bytes = read.toBytes();
+        read.release();
+        assertSame(bytes, read.toBytes());
+
+        subscriber.close();
+    }
+
+    @Test
+    public void subscriber_flowHandlerHonorsDemandAndOverflowPolicy() throws Exception {
+        var handler = new FlowHandler<Sample>(2, OverflowPolicy.DROP_OLDEST);
+        var subscriber = session.declareSubscriber(testKeyExpr, handler);
+
+        // Buffered until subscribed: only the two latest samples are kept.
+        for (int i = 0; i < 5; i++) {
+            session.put(testKeyExpr, "Test " + i);
+        }
+
+        List<String> received = new ArrayList<>();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        CountDownLatch completed = new CountDownLatch(1);
+        subscriber.getReceiver().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(Sample sample) {
+                received.add(sample.getPayload().toString());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+        assertTrue(received.isEmpty());
+
+        subscription[0].request(1);
+        assertEquals(List.of("Test 3"), received);
+        subscription[0].request(5);
+        assertEquals(List.of("Test 3", "Test 4"), received);
+        session.put(testKeyExpr, "Test 5");
+        assertEquals(List.of("Test 3", "Test 4", "Test 5"), received);
+
+        subscriber.close();
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void subscriber_flowHandlerCancelsAThrowingSubscriber() throws Exception {
+        var handler = new FlowHandler<Sample>();
+        var subscriber = session.declareSubscriber(testKeyExpr, handler);
+        session.put(testKeyExpr, "Test 1");
+
+        List<String> received = new ArrayList<>();
+        Throwable[] error = new Throwable[1];
+        boolean[] subscribing = new boolean[1];
+        subscriber.getReceiver().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscribing[0] = true;
+                s.request(Long.MAX_VALUE);
+                subscribing[0] = false;
+            }
+
+            @Override
+            public void onNext(Sample sample) {
+                assertFalse(subscribing[0]);
+                received.add(sample.getPayload().toString());
+                throw new IllegalStateException("Test");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error[0] = throwable;
+            }
+
+            @Override
+            public void onComplete() {}
+        });
+        assertEquals(List.of("Test 1"), received);
+        assertTrue(error[0] instanceof IllegalStateException);
+
+        // Cancelled: nothing more is delivered.
+        session.put(testKeyExpr, "Test 2");
+        assertEquals(List.of("Test 1"), received);
+        subscriber.close();
+    }
 }
 
 class QueueHandler<T extends ZenohType> implements Handler<T, ArrayDeque<T>> {
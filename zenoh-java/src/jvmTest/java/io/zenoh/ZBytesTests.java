@@ -14,19 +14,33 @@
 
 package io.zenoh;
 
+import io.zenoh.bytes.ZBytes;
+import io.zenoh.exceptions.ZError;
+import io.zenoh.ext.ZBytesReader;
+import io.zenoh.ext.ZBytesWriter;
+import io.zenoh.ext.ZCodec;
 import io.zenoh.ext.ZDeserializer;
 import io.zenoh.ext.ZSerializer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(JUnit4.class)
@@ -182,6 +196,189 @@ public class ZBytesTests {
         assertEquals(mapOfListInput, mapOfListOutput);
     }
 
+    @Test
+    public void testCodecSerializationAndDeserialization() {
+        ZCodec<Map<String, List<Double>>> codec = new ZCodec<>() {};
+        Map<String, List<Double>> input = Map.of("temperature", List.of(21.5, 22.0));
+
+        for (int i = 0; i < 3; i++) {
+            var payload = codec.serialize(input);
+            assertEquals(new ZSerializer<Map<String, List<Double>>>() {}.serialize(input), payload);
+            assertEquals(input, codec.deserialize(payload));
+        }
+    }
+
+    @Test
+    public void testIterativeDeserialization() {
+        List<String> input = List.of("sample1", "sample2", "sample3");
+        var payload = new ZSerializer<List<String>>() {}.serialize(input);
+
+        ZDeserializer<String> deserializer = new ZDeserializer<>() {};
+        Iterator<String> iterator = deserializer.iterate(payload);
+        assertEquals("sample1", iterator.next());
+        assertEquals(List.of("sample2", "sample3"), deserializer.stream(payload).skip(1).collect(Collectors.toList()));
+        assertEquals(2, deserializer.stream(payload).filter(s -> !s.endsWith("2")).count());
+    }
+
+    /*****************
+     * Buffer access *
+     *****************/
+
+    @Test
+    public void testCopyToReusedBuffers() {
+        ZBytes zbytes = ZBytes.from("example");
+        assertEquals(7, zbytes.size());
+
+        byte[] array = new byte[10];
+        assertEquals(7, zbytes.copyTo(array, 2));
+        assertArrayEquals("example".getBytes(), Arrays.copyOfRange(array, 2, 9));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        direct.put((byte) 1);
+        assertEquals(7, zbytes.copyTo(direct));
+        assertEquals(8, direct.position());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> zbytes.copyTo(new byte[6], 0));
+    }
+
+    @Test
+    public void testWrappedBufferAccess() {
+        ByteBuffer source = ByteBuffer.allocateDirect(16);
+        source.put("--example--".getBytes());
+        source.flip();
+        source.position(2);
+        source.limit(9);
+        ZBytes zbytes = ZBytes.wrap(source);
+
+        assertEquals(7, zbytes.size());
+        assertEquals("example", zbytes.toString());
+
+        byte[] array = new byte[7];
+        zbytes.copyTo(array);
+        assertArrayEquals("example".getBytes(), array);
+
+        ByteBuffer view = zbytes.asReadOnlyByteBuffer();
+        assertTrue(view.isReadOnly());
+        assertEquals(0, view.position());
+        assertEquals(7, view.remaining());
+        assertEquals((byte) 'e', view.get(0));
+        // Reading the payload leaves the caller's buffer untouched.
+        assertEquals(2, source.position());
+        assertEquals(9, source.limit());
+    }
+
+    @Test
+    public void testWrappedHeapBufferIsCopiedOnce() {
+        byte[] array = "example".getBytes();
+        ZBytes zbytes = ZBytes.wrap(ByteBuffer.wrap(array));
+
+        byte[] bytes = zbytes.toBytes();
+        assertNotSame(array, bytes);
+        assertSame(bytes, zbytes.toBytes());
+        assertArrayEquals(array, bytes);
+    }
+
+    @Test
+    public void testCompositeSegments() {
+        ByteBuffer body = ByteBuffer.allocateDirect(4);
+        body.put("body".getBytes());
+        body.flip();
+        ZBytes zbytes = ZBytes.builder()
+                .append("head|".getBytes())
+                .append(ZBytes.concat(ZBytes.from(""), ZBytes.wrap(body)))
+                .append("|tail")
+                .build();
+
+        assertEquals(14, zbytes.size());
+        assertEquals("head|body|tail", zbytes.toString());
+        assertEquals(ZBytes.from("head|body|tail"), zbytes);
+
+        List<ByteBuffer> segments = zbytes.segments();
+        assertEquals(3, segments.size());
+        assertEquals(4, segments.get(1).remaining());
+        assertTrue(segments.get(1).isReadOnly());
+
+        ByteBuffer dst = ByteBuffer.allocate(16);
+        assertEquals(14, zbytes.copyTo(dst));
+        assertEquals(14, dst.position());
+        assertThrows(IndexOutOfBoundsException.class, () -> zbytes.copyTo(new byte[16], 4));
+    }
+
+    @Test
+    public void testPinnedSnapshot() {
+        ByteBuffer status = ByteBuffer.allocate(2);
+        status.put(0, (byte) 'o').put(1, (byte) 'k');
+        ZBytes pinned = ZBytes.concat(ZBytes.from("status="), ZBytes.wrap(status)).pin();
+        status.put(0, (byte) 'k').put(1, (byte) 'o');
+
+        assertEquals("status=ok", pinned.toString());
+        assertEquals(1, pinned.segments().size());
+        ZBytes plain = ZBytes.from("plain");
+        assertSame(plain, plain.pin());
+    }
+
+    @Test
+    public void testFileRegion() throws IOException {
+        Path file = Files.createTempFile("zbytes", ".bin");
+        try {
+            Files.write(file, "--example--".getBytes());
+
+            assertEquals("--example--", ZBytes.fromFile(file).toString());
+            ZBytes region = ZBytes.fromFile(file, 2, 7);
+            assertEquals(7, region.size());
+            assertEquals(ZBytes.from("example"), region);
+            assertThrows(IllegalArgumentException.class, () -> ZBytes.fromFile(file, 8, 4));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /***************************
+     * Streaming serialization *
+     ***************************/
+
+    @Test
+    public void testWriterMatchesSerializer() {
+        Map<String, List<Long>> input = Map.of("a", List.of(1L, -2L), "b".repeat(200), List.of());
+
+        ZBytesWriter writer = new ZBytesWriter(4);
+        writer.writeSequenceLength(input.size());
+        input.forEach((key, values) -> {
+            writer.writeString(key);
+            writer.writeSequenceLength(values.size());
+            values.forEach(writer::writeLong);
+        });
+        ZBytes streamed = writer.toZBytes();
+
+        ZSerializer<Map<String, List<Long>>> serializer = new ZSerializer<>() {};
+        assertEquals(serializer.serialize(input), streamed);
+        assertEquals(0, writer.size());
+    }
+
+    @Test
+    public void testReaderMatchesDeserializer() throws ZError {
+        ZSerializer<List<Double>> serializer = new ZSerializer<>() {};
+        ZBytes zbytes = serializer.serialize(List.of(0.5, -1.25, 3.0));
+
+        ZBytesReader reader = new ZBytesReader(zbytes);
+        assertEquals(3, reader.readSequenceLength());
+        assertEquals(0.5, reader.readDouble(), 0.0);
+        assertEquals(-1.25, reader.readDouble(), 0.0);
+        assertEquals(3.0, reader.readDouble(), 0.0);
+        assertTrue(reader.isDone());
+        assertThrows(ZError.class, reader::readByte);
+    }
+
+    @Test
+    public void testReaderRejectsMalformedData() {
+        // A string announcing 5 bytes, followed by 2.
+        ZBytesReader reader = new ZBytesReader(ZBytes.from(new byte[]{5, 'a', 'b'}));
+        assertThrows(ZError.class, reader::readString);
+
+        ZBytesReader booleans = new ZBytesReader(ZBytes.from(new byte[]{2}));
+        assertThrows(ZError.class, booleans::readBoolean);
+    }
+
     /*****************
      * Testing utils *
      *****************/
@@ -0,0 +1,67 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import io.zenoh.handlers.Callback
+import io.zenoh.handlers.ChannelHandler
+import io.zenoh.handlers.getFlow
+import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.query.Query
+import io.zenoh.query.Reply
+import io.zenoh.query.Selector
+import io.zenoh.sample.Sample
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.toList
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ChannelHandlerTest {
+
+    private val keyExpr = KeyExpr.tryFrom("example/testing/keyexpr")
+
+    @Test
+    fun subscriberSamplesAreReceivedFromTheChannel() {
+        val session = Zenoh.open(Config.loadDefault())
+        try {
+            val subscriber = session.declareSubscriber(keyExpr, ChannelHandler<Sample>(2, BufferOverflow.DROP_OLDEST))
+            repeat(5) { session.put(keyExpr, "Test $it") }
+            subscriber.close()
+            // The channel kept the two latest samples and was closed with the subscriber.
+            val received = runBlocking { subscriber.receiver.toList() }
+            assertEquals(listOf("Test 3", "Test 4"), received.map { it.payload.toString() })
+        } finally {
+            session.close()
+        }
+    }
+
+    @Test
+    fun getFlowCompletesWithTheQuery() {
+        val session = Zenoh.open(Config.loadDefault())
+        try {
+            val queryable = session.declareQueryable(keyExpr, Callback<Query> { it.reply(keyExpr, "Reply") })
+            val replies = runBlocking { session.getFlow(Selector(keyExpr)).toList() }
+            assertEquals(1, replies.size)
+            assertTrue(replies[0] is Reply.Success)
+            assertEquals("Reply", (replies[0] as Reply.Success).sample.payload.toString())
+            queryable.close()
+        } finally {
+            session.close()
+        }
+    }
+}
@@ -0,0 +1,69 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import io.zenoh.session.DeclarationRegistry
+import io.zenoh.session.SessionDeclaration
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.lang.ref.Reference
+
+class DeclarationRegistryTest {
+
+    private class Declaration : SessionDeclaration {
+        var undeclared = 0
+        override fun undeclare() {
+            undeclared++
+        }
+    }
+
+    @Test
+    fun removedRegistrationsAreNotUndeclaredAgain() {
+        val registry = DeclarationRegistry()
+        val kept = Declaration()
+        val removed = Declaration()
+        registry.registerStrong(kept)
+        registry.registerWeak(removed).remove()
+        assertEquals(1, registry.size())
+
+        registry.undeclareAll()
+        assertEquals(1, kept.undeclared)
+        assertEquals(0, removed.undeclared)
+        assertEquals(0, registry.size())
+    }
+
+    @Test
+    fun equalDeclarationsAreRegisteredApart() {
+        val registry = DeclarationRegistry()
+        val first = registry.registerStrong(io.zenoh.keyexpr.KeyExpr("a/b"))
+        registry.registerStrong(io.zenoh.keyexpr.KeyExpr("a/b"))
+        assertEquals(2, registry.size())
+        first.remove()
+        assertEquals(1, registry.size())
+    }
+
+    @Test
+    fun collectedWeakRegistrationsArePruned() {
+        val registry = DeclarationRegistry()
+        val weak = List(3) { registry.registerWeak(Declaration()) }
+        assertEquals(3, registry.size())
+
+        // What the collector does once a weakly registered declaration is unreachable.
+        weak.take(2).forEach { (it as Reference<*>).enqueue() }
+        registry.registerStrong(Declaration())
+        assertEquals(2, registry.size())
+    }
+}
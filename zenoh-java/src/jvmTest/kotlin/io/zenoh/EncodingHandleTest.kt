@@ -21,7 +21,9 @@ import io.zenoh.pubsub.PutOptions
 import io.zenoh.sample.Sample
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNotSame
 import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
 import org.junit.Test
 
 /**
@@ -117,4 +119,24 @@ class EncodingHandleTest {
         subscriber.close()
         session.close()
     }
+
+    @Test
+    fun customEncodingsAreSharedWithTheirHandle() {
+        val parsed = Encoding.from("text/plain;utf-8")
+        assertSame(parsed, Encoding.from("text/plain;utf-8"))
+        assertSame(parsed, Encoding.TEXT_PLAIN.withSchema("utf-8"))
+        assertSame(Encoding.TEXT_PLAIN, Encoding.from("text/plain"))
+    }
+
+    @Test
+    fun receivedEncodingsAreInterned() {
+        // Without a schema: the predefined constant itself.
+        assertSame(Encoding.TEXT_PLAIN, Encoding.received(Encoding.TEXT_PLAIN.id, null))
+        // With one: decoded once, then shared while it stays cached.
+        val first = Encoding.received(Encoding.TEXT_PLAIN.id, "utf-8".toByteArray())
+        assertSame(first, Encoding.received(Encoding.TEXT_PLAIN.id, "utf-8".toByteArray()))
+        assertEquals(Encoding.TEXT_PLAIN.withSchema("utf-8"), first)
+        assertNull(first.handle)
+        assertNotSame(first, Encoding.received(Encoding.APPLICATION_JSON.id, "utf-8".toByteArray()))
+    }
 }
@@ -0,0 +1,51 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import io.zenoh.keyexpr.KeyExprCache
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class KeyExprCacheTest {
+
+    @Test
+    fun repeatedKeysShareTheirKeyExpr() {
+        val cache = KeyExprCache()
+        val first = cache.intern(String(charArrayOf('a', '/', 'b')))
+        val second = cache.intern(String(charArrayOf('a', '/', 'b')))
+        assertSame(first, second)
+        assertEquals("a/b", second.toString())
+    }
+
+    @Test
+    fun collidingKeysEvictEachOther() {
+        val cache = KeyExprCache(1)
+        assertEquals(1, cache.capacity)
+        val a = cache.intern("a")
+        assertEquals("b", cache.intern("b").toString())
+        val again = cache.intern("a")
+        assertEquals("a", again.toString())
+        assertNotSame(a, again)
+    }
+
+    @Test
+    fun capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(1024, KeyExprCache(1000).capacity)
+        assertEquals(1024, KeyExprCache(1024).capacity)
+    }
+}
@@ -0,0 +1,38 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import io.zenoh.exceptions.ZError
+import io.zenoh.keyexpr.KeyExpr
+import kotlin.random.Random
+
+/**
+ * [count] distinct random canon key expressions of one to four chunks, each drawn from
+ * [vocabulary] — the shared input of the tests checking the JVM key-expression algebra.
+ */
+internal fun randomKeyExprs(random: Random, vocabulary: List<String>, count: Int): List<KeyExpr> {
+    val keyExprs = LinkedHashSet<KeyExpr>()
+    while (keyExprs.size < count) {
+        val chunks = List(random.nextInt(1, 5)) { vocabulary[random.nextInt(vocabulary.size)] }
+        try {
+            // Non-canon combinations (`**/**`, `**/*`) are rejected natively and skipped.
+            keyExprs.add(KeyExpr.tryFrom(chunks.joinToString("/")))
+        } catch (e: ZError) {
+            continue
+        }
+    }
+    return keyExprs.toList()
+}
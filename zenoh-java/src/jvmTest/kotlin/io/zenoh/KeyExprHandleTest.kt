@@ -43,7 +43,7 @@ class KeyExprHandleTest {
         val canon = KeyExpr.autocanonize("example/**/**")
         assertNull(canon.handle)
         assertEquals("example/**", canon.toString())
-        // Algebra ops work on string-backed instances (transient native probe).
+        // Algebra ops work on string-backed instances (matched on the JVM).
         assertTrue(ke.intersects(KeyExpr.tryFrom("example/testing/*")))
         assertTrue(KeyExpr.tryFrom("example/**").includes(ke))
         assertEquals("example/testing/keyexpr/sub", ke.join("sub").toString())
@@ -54,7 +54,7 @@ class KeyExprHandleTest {
         val session = Zenoh.open(Config.loadDefault())
         val declared = session.declareKeyExpr("example/testing/keyexpr/declared")
         assertNotNull(declared.handle)
-        // Ops route through the declared handle.
+        // Ops match on the string, declared or not.
         assertTrue(declared.intersects(KeyExpr.tryFrom("example/testing/**")))
         // Undeclare demotes to string-backed; the string survives.
         session.undeclare(declared)
@@ -0,0 +1,80 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.keyexpr.SetIntersectionLevel
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+/**
+ * The JVM key-expression algebra must agree with the native one: random canon
+ * key expressions built from chunks exercising every rule (`*`, `**`, `$*`,
+ * verbatim `@` chunks) are compared pairwise.
+ */
+class KeyExprMatchingTest {
+
+    private val vocabulary = listOf(
+        "a", "b", "ab", "ba", "abc", "*", "**", "a$*", "$*b", "a$*b", "$*a$*", "a$*c$*", "b$*a", "@a", "@b",
+    )
+
+    @Test
+    fun matchingAgreesWithNative() {
+        val keyExprs = randomKeyExprs(Random(42), vocabulary, 120)
+        for (a in keyExprs) {
+            for (b in keyExprs) {
+                assertEquals("$a intersects $b", a.nativeIntersects(b), a.intersects(b))
+                assertEquals("$a includes $b", a.nativeIncludes(b), a.includes(b))
+                assertEquals("$a relation to $b", a.nativeRelationTo(b), a.relationTo(b))
+            }
+        }
+    }
+
+    @Test
+    fun verbatimChunksAreOnlyMatchedByThemselves() {
+        val verbatim = KeyExpr.tryFrom("a/@b/c")
+        assertFalse(KeyExpr.tryFrom("a/*/c").intersects(verbatim))
+        assertFalse(KeyExpr.tryFrom("a/**").intersects(verbatim))
+        assertTrue(KeyExpr.tryFrom("a/@b/*").includes(verbatim))
+        assertEquals(SetIntersectionLevel.EQUALS, verbatim.relationTo(KeyExpr.tryFrom("a/@b/c")))
+    }
+
+    @Test
+    fun subChunkWildcardsMatchWithinChunks() {
+        assertTrue(KeyExpr.tryFrom("a/b$*").includes(KeyExpr.tryFrom("a/blue")))
+        assertTrue(KeyExpr.tryFrom("a/b$*").includes(KeyExpr.tryFrom("a/b")))
+        assertFalse(KeyExpr.tryFrom("a/b$*").intersects(KeyExpr.tryFrom("a/blue/c")))
+        assertTrue(KeyExpr.tryFrom("a$*").intersects(KeyExpr.tryFrom("$*b")))
+        assertFalse(KeyExpr.tryFrom("$*a").intersects(KeyExpr.tryFrom("$*b")))
+        assertEquals(SetIntersectionLevel.INTERSECTS, KeyExpr.tryFrom("a$*").relationTo(KeyExpr.tryFrom("$*b")))
+    }
+
+    @Test(timeout = 5_000)
+    fun doubleStarsDoNotBacktrackExponentially() {
+        val pattern = KeyExpr.tryFrom("a/**/b/**/c/**/d")
+        // A long key that nearly matches: every `**` has many ways to absorb it, none succeeding.
+        val key = KeyExpr.tryFrom(List(60) { listOf("a", "b", "c")[it % 3] }.joinToString("/"))
+        assertFalse(pattern.intersects(key))
+        assertFalse(pattern.includes(key))
+        assertFalse(key.intersects(pattern))
+        val doubleStars = KeyExpr.tryFrom(List(30) { if (it % 2 == 0) "**" else "a" }.joinToString("/"))
+        assertFalse(doubleStars.intersects(KeyExpr.tryFrom(List(60) { "b" }.joinToString("/"))))
+        assertTrue(pattern.includes(KeyExpr.tryFrom("a/x/b/y/c/z/d")))
+    }
+}
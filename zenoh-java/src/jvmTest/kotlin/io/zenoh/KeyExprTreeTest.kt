@@ -0,0 +1,74 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import io.zenoh.keyexpr.ConcurrentKeyExprTree
+import io.zenoh.keyexpr.KeyExpr
+import io.zenoh.keyexpr.KeyExprTree
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import kotlin.random.Random
+
+/**
+ * Tree lookups must return exactly the entries a linear scan of
+ * intersects / includes would.
+ */
+class KeyExprTreeTest {
+
+    private val vocabulary = listOf("a", "b", "ab", "*", "**", "a$*", "$*b", "@a")
+
+    private fun keysOf(entries: List<Map.Entry<KeyExpr, Int>>) = entries.map { it.key }.toSet()
+
+    private fun assertMatchesLinearScan(tree: KeyExprTree<Int>, stored: List<KeyExpr>, queries: List<KeyExpr>) {
+        for (query in queries) {
+            assertEquals("intersecting $query", stored.filter { it.intersects(query) }.toSet(), keysOf(tree.intersecting(query)))
+            assertEquals("includedBy $query", stored.filter { query.includes(it) }.toSet(), keysOf(tree.includedBy(query)))
+            assertEquals("including $query", stored.filter { it.includes(query) }.toSet(), keysOf(tree.including(query)))
+        }
+    }
+
+    @Test
+    fun lookupsMatchLinearScan() {
+        val random = Random(7)
+        val stored = randomKeyExprs(random, vocabulary, 150)
+        val queries = randomKeyExprs(random, vocabulary, 60)
+        val tree = KeyExprTree<Int>()
+        stored.forEachIndexed { i, ke -> tree.insert(ke, i) }
+        assertEquals(stored.size, tree.size())
+        assertMatchesLinearScan(tree, stored, queries)
+
+        // Removing half of the entries prunes their branches.
+        val removed = stored.filterIndexed { i, _ -> i % 2 == 0 }
+        removed.forEach { tree.remove(it) }
+        val kept = stored - removed.toSet()
+        assertEquals(kept.size, tree.size())
+        assertMatchesLinearScan(tree, kept, queries)
+    }
+
+    @Test
+    fun concurrentTreeKeepsSnapshotsConsistent() {
+        val tree = ConcurrentKeyExprTree<Int>()
+        val ke = KeyExpr.tryFrom("robot/*/camera")
+        assertNull(tree.insert(ke, 1))
+        assertEquals(1, tree.insert(ke, 2))
+        val snapshot = tree.intersecting(KeyExpr.tryFrom("robot/r1/camera"))
+        assertEquals(2, tree.remove(ke))
+        assertEquals(2, snapshot.single().value)
+        assertEquals(0, tree.intersecting(KeyExpr.tryFrom("robot/r1/camera")).size)
+        assertNull(tree[ke])
+    }
+}
@@ -0,0 +1,63 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import io.zenoh.bytes.Encoding
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.lang.management.ManagementFactory
+
+/**
+ * The encodings of received messages are interned (see [Encoding.received]): measured with
+ * HotSpot's per-thread allocation counters, a repeated `(id, schema)` allocates nothing on the
+ * callback path, where creating the encoding per message, as before interning, allocates on
+ * every one.
+ */
+class ReceivedEncodingAllocationTest {
+
+    private val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+
+    private val messages = 10_000
+
+    private val schema = "my-schema".toByteArray()
+
+    private val sink = arrayOfNulls<Encoding>(messages)
+
+    /** The bytes the current thread allocates while receiving [messages] encodings through [receive]. */
+    private fun allocatedBytes(receive: (ByteArray) -> Encoding): Long {
+        // Warms the counter and the path up, the first receptions filling the cache.
+        threads.currentThreadAllocatedBytes
+        repeat(messages) { sink[it] = receive(schema.copyOf()) }
+        // Every message carries its own copy of the schema bytes, as the JNI layer delivers it.
+        val copies = Array(messages) { schema.copyOf() }
+        val start = threads.currentThreadAllocatedBytes
+        for (i in 0 until messages) sink[i] = receive(copies[i])
+        return threads.currentThreadAllocatedBytes - start
+    }
+
+    @Test
+    fun repeatedReceivedEncodingsAllocateNothing() {
+        val id = Encoding.APPLICATION_JSON.id
+        // The first measurement pays for loading the measuring code itself.
+        allocatedBytes { Encoding.APPLICATION_JSON }
+        val interned = allocatedBytes { Encoding.received(id, it) }
+        val perMessage = allocatedBytes { Encoding(id, it.toString(Charsets.UTF_8), null, it) }
+        assertEquals(0L, interned)
+        assertTrue("per-message creation allocated $perMessage bytes", perMessage >= messages)
+        assertEquals(0L, allocatedBytes { Encoding.received(id, null) })
+    }
+}
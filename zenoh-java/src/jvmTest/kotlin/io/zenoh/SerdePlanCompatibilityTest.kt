@@ -0,0 +1,159 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import com.google.common.reflect.TypeToken
+import io.zenoh.bytes.ZBytes
+import io.zenoh.exceptions.ZError
+import io.zenoh.exceptions.throwZError0
+import io.zenoh.ext.ZCodec
+import io.zenoh.ext.ZDeserializer
+import io.zenoh.ext.ZSerializer
+import io.zenoh.ext.serdePlanOf
+import io.zenoh.ext.serdeTypeOfJava
+import io.zenoh.jni.bytes.SerializationCodec
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Test
+import java.lang.reflect.Type
+
+/**
+ * The JVM serialization plans must stay byte-for-byte compatible with the
+ * native `SerializationCodec`: every case is encoded by both and each side
+ * decodes the other's output.
+ */
+class SerdePlanCompatibilityTest {
+
+    private inline fun <reified T> typeOf(): Type = object : TypeToken<T>() {}.type
+
+    private fun assertCompatible(type: Type, value: Any) {
+        val native = SerializationCodec.serialize(value, serdeTypeOfJava(type), throwZError0)
+        val jvm = serdePlanOf(type).serialize(value).toBytes()
+        assertArrayEquals(native, jvm)
+        assertDeepEquals(value, serdePlanOf(type).deserialize(ZBytes.from(native)))
+        assertDeepEquals(value, SerializationCodec.deserialize(jvm, serdeTypeOfJava(type), throwZError0))
+    }
+
+    private fun assertDeepEquals(expected: Any, actual: Any) = when (expected) {
+        is ByteArray -> assertArrayEquals(expected, actual as ByteArray)
+        is List<*> -> {
+            actual as List<*>
+            assertEquals(expected.size, actual.size)
+            expected.zip(actual).forEach { (e, a) -> assertDeepEquals(e!!, a!!) }
+        }
+        else -> assertEquals(expected, actual)
+    }
+
+    @Test
+    fun primitivesAreCompatible() {
+        assertCompatible(java.lang.Boolean::class.java, true)
+        assertCompatible(java.lang.Byte::class.java, Byte.MIN_VALUE)
+        assertCompatible(java.lang.Short::class.java, (-12345).toShort())
+        assertCompatible(java.lang.Integer::class.java, Int.MIN_VALUE)
+        assertCompatible(java.lang.Long::class.java, Long.MAX_VALUE)
+        assertCompatible(java.lang.Float::class.java, -3.1415f)
+        assertCompatible(java.lang.Double::class.java, Double.MIN_VALUE)
+    }
+
+    @Test
+    fun lengthPrefixedValuesAreCompatible() {
+        assertCompatible(String::class.java, "")
+        assertCompatible(String::class.java, "zenoh ⚡ ${"x".repeat(300)}")
+        assertCompatible(ByteArray::class.java, ByteArray(20_000) { it.toByte() })
+    }
+
+    @Test
+    fun collectionsAreCompatible() {
+        assertCompatible(typeOf<List<String>>(), listOf("a", "bb", ""))
+        assertCompatible(typeOf<List<ByteArray>>(), listOf(byteArrayOf(1, 2), byteArrayOf()))
+        assertCompatible(typeOf<Map<String, List<Double>>>(), mapOf("t" to listOf(1.5, -2.0), "e" to emptyList()))
+        assertCompatible(typeOf<List<Map<Int, Boolean>>>(), listOf(mapOf(1 to true), emptyMap()))
+    }
+
+    /** A primitive array must encode exactly as the list of its elements. */
+    private fun assertEncodesAsList(listType: Type, list: List<Any>, array: Any) {
+        val plan = serdePlanOf(array.javaClass)
+        val native = SerializationCodec.serialize(list, serdeTypeOfJava(listType), throwZError0)
+        assertArrayEquals(native, plan.serialize(array).toBytes())
+        assertArrayEquals(native, plan.serialize(plan.deserialize(ZBytes.from(native))).toBytes())
+    }
+
+    @Test
+    fun primitiveArraysEncodeAsLists() {
+        val ints = IntArray(300) { it * 1_000_003 }
+        assertEncodesAsList(typeOf<List<Int>>(), ints.toList(), ints)
+        val longs = longArrayOf(Long.MIN_VALUE, 0, Long.MAX_VALUE)
+        assertEncodesAsList(typeOf<List<Long>>(), longs.toList(), longs)
+        val floats = floatArrayOf(1.5f, -0f, Float.MAX_VALUE)
+        assertEncodesAsList(typeOf<List<Float>>(), floats.toList(), floats)
+        val doubles = DoubleArray(1000) { it * 0.5 - 7 }
+        assertEncodesAsList(typeOf<List<Double>>(), doubles.toList(), doubles)
+        assertEncodesAsList(typeOf<List<Double>>(), emptyList(), DoubleArray(0))
+    }
+
+    data class Reading(val sensor: String, val samples: DoubleArray, val tags: Map<String, Int>, val valid: Boolean)
+
+    @Test
+    fun dataClassesEncodeAsTuples() {
+        val reading = Reading("lidar", doubleArrayOf(0.25, 4.0), mapOf("floor" to 2), true)
+        val expected = SerializationCodec.serialize("lidar", serdeTypeOfJava(String::class.java), throwZError0) +
+            SerializationCodec.serialize(listOf(0.25, 4.0), serdeTypeOfJava(typeOf<List<Double>>()), throwZError0) +
+            SerializationCodec.serialize(mapOf("floor" to 2), serdeTypeOfJava(typeOf<Map<String, Int>>()), throwZError0) +
+            SerializationCodec.serialize(true, serdeTypeOfJava(java.lang.Boolean::class.java), throwZError0)
+
+        val zbytes = object : ZSerializer<Reading>() {}.serialize(reading)
+        assertArrayEquals(expected, zbytes.toBytes())
+        val output = object : ZDeserializer<Reading>() {}.deserialize(zbytes)
+        assertEquals(reading.sensor, output.sensor)
+        assertArrayEquals(reading.samples, output.samples, 0.0)
+        assertEquals(reading.tags, output.tags)
+        assertEquals(reading.valid, output.valid)
+    }
+
+    @Test
+    fun pairsResolveTheirTypeArguments() {
+        val codec = object : ZCodec<List<Pair<String, Long>>>() {}
+        val input = listOf("a" to 1L, "b" to -2L)
+        assertEquals(input, codec.deserialize(codec.serialize(input)))
+    }
+
+    data class Node(val name: String, val children: List<Node>)
+
+    @Test
+    fun recursiveDataClassesAreSupported() {
+        val tree = Node("root", listOf(Node("a", emptyList()), Node("b", listOf(Node("c", emptyList())))))
+        val codec = object : ZCodec<Node>() {}
+        assertEquals(tree, codec.deserialize(codec.serialize(tree)))
+    }
+
+    class Destructurable(val x: Int, val y: Int) {
+        operator fun component1() = x
+        operator fun component2() = y
+    }
+
+    @Test
+    fun onlyRealDataClassesEncodeAsTuples() {
+        assertThrows(ZError::class.java) { serdePlanOf(Destructurable::class.java) }
+    }
+
+    @Test
+    fun malformedPayloadsAreRejected() {
+        val plan = serdePlanOf(java.lang.Integer::class.java)
+        assertThrows(ZError::class.java) { plan.deserialize(ZBytes.from(byteArrayOf(1, 2, 3))) }
+        assertThrows(ZError::class.java) { plan.deserialize(ZBytes.from(byteArrayOf(1, 2, 3, 4, 5))) }
+    }
+}
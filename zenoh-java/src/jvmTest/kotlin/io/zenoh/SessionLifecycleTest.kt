@@ -0,0 +1,78 @@
+//
+// Copyright (c) 2026 ZettaScale Technology
+//
+// This program and the accompanying materials are made available under the
+// terms of the Eclipse Public License 2.0 which is available at
+// http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+// which is available at https://www.apache.org/licenses/LICENSE-2.0.
+//
+// SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+//
+// Contributors:
+//   ZettaScale Zenoh Team, <zenoh@zettascale.tech>
+//
+
+
+package io.zenoh
+
+import io.zenoh.session.SessionLifecycle
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import kotlin.concurrent.thread
+
+class SessionLifecycleTest {
+
+    @Test
+    fun closeReleasesOnce() {
+        val lifecycle = SessionLifecycle()
+        var released = 0
+        lifecycle.close { released++ }
+        lifecycle.close { released++ }
+        assertEquals(1, released)
+        assertTrue(lifecycle.isClosed)
+        assertFalse(lifecycle.enter())
+    }
+
+    @Test
+    fun closeFromWithinAnOperationDefersTheRelease() {
+        val lifecycle = SessionLifecycle()
+        var released = 0
+        assertTrue(lifecycle.enter())
+        assertTrue(lifecycle.enter())
+        lifecycle.close { released++ }
+        assertTrue(lifecycle.isClosed)
+        lifecycle.exit()
+        assertEquals(0, released)
+        lifecycle.exit()
+        assertEquals(1, released)
+    }
+
+    @Test
+    fun aDeferredReleaseIsLeftToTheClosingThread() {
+        val lifecycle = SessionLifecycle()
+        val entered = CountDownLatch(1)
+        val closing = CountDownLatch(1)
+        // Another thread's operation, exiting while the session is closed from within an operation.
+        val other = thread {
+            assertTrue(lifecycle.enter())
+            entered.countDown()
+            closing.await()
+            Thread.sleep(10)
+            lifecycle.exit()
+        }
+        assertTrue(lifecycle.enter())
+        entered.await()
+        var releasedBy: Thread? = null
+        closing.countDown()
+        lifecycle.close { releasedBy = Thread.currentThread() }
+        other.join()
+        assertNull(releasedBy)
+        lifecycle.exit()
+        assertSame(Thread.currentThread(), releasedBy)
+    }
+}
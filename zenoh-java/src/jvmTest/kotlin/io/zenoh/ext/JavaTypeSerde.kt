@@ -18,10 +18,13 @@ import io.zenoh.exceptions.ZError
 import io.zenoh.jni.bytes.SerializationCodec
 import java.lang.reflect.ParameterizedType
 import java.lang.reflect.Type
+import java.lang.reflect.WildcardType
 
 /**
  * Build a [SerializationCodec.SerdeType] from a Guava `TypeToken`'s
- * [java.lang.reflect.Type] — the reflection adapter for zenoh-java's serializer.
+ * [java.lang.reflect.Type] — the native codec's view of the type. The serializers
+ * run on the JVM ([serdePlanOf]); this descriptor is only used by the tests, to check
+ * the JVM codec byte for byte against the native one.
  * Handles `Class<?>` and `ParameterizedType` for `List`/`Map`; the Kotlin-only
  * unsigned value classes and `Pair`/`Triple` erase in the Java reflection
  * representation and are not expressible here. Throws [ZError] on an
@@ -51,5 +54,7 @@ internal fun serdeTypeOfJava(type: Type): SerializationCodec.SerdeType = when (t
             else -> throw ZError("Unsupported parameterized type: ${raw.name}")
         }
     }
+    // Kotlin declares `List<out E>` / `Map<K, out V>`: `List<List<Int>>` reflects as `List<? extends List<Integer>>`.
+    is WildcardType -> type.upperBounds.singleOrNull()?.let { serdeTypeOfJava(it) } ?: throw ZError("Unsupported type: $type")
     else -> throw ZError("Unsupported type: $type")
 }